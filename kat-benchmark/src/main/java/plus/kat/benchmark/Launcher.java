@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the suites with the gc profiler attached, so that every
+ * result also reports the allocation rate, and passes the
+ * remaining arguments through to the jmh command line
+ *
+ * <pre>{@code
+ *  java -jar kat-benchmark/target/benchmarks.jar SolveBenchmark -p algo=json
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Launcher {
+
+    public static void main(
+        String[] args
+    ) throws CommandLineOptionException, RunnerException {
+        Options opts = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.benchmark;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.spare.*;
+
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Payload {
+
+    public final Type type;
+    public final Spare<Object> spare;
+    public final Object value;
+
+    @SuppressWarnings("unchecked")
+    private Payload(
+        Type type,
+        Spare<?> spare,
+        Object value
+    ) {
+        this.type = type;
+        this.value = value;
+        this.spare = (Spare<Object>) spare;
+    }
+
+    /**
+     * Returns the payload of the specified shape,
+     * one of bean, map, list, array and record
+     *
+     * @throws IllegalArgumentException If the specified shape is unknown
+     */
+    public static Payload of(
+        String shape
+    ) {
+        switch (shape) {
+            case "bean": {
+                return new Payload(
+                    User.class,
+                    Spare.of(User.class), user(1)
+                );
+            }
+            case "map": {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < 16; i++) {
+                    Map<String, Object> sub = new LinkedHashMap<>();
+                    sub.put("id", i);
+                    sub.put("name", "kraity-" + i);
+                    sub.put("score", i * 1.25D);
+                    sub.put("admin", (i & 1) == 0);
+                    map.put("item" + i, sub);
+                }
+                return new Payload(
+                    Map.class,
+                    Spare.of(Map.class), map
+                );
+            }
+            case "list": {
+                List<User> list = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    list.add(user(i));
+                }
+                Type type;
+                try {
+                    type = Shape.class.getField("list").getGenericType();
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new Payload(
+                    type, Spare.of(type), list
+                );
+            }
+            case "array": {
+                User[] array = new User[32];
+                for (int i = 0; i < 32; i++) {
+                    array[i] = user(i);
+                }
+                return new Payload(
+                    User[].class,
+                    Spare.of(User[].class), array
+                );
+            }
+            case "record": {
+                return new Payload(
+                    Item.class,
+                    new RecordSpare<>(
+                        null, Item.class, Supplier.ins()
+                    ),
+                    new Item(
+                        1, "kraity", 99.5D, new int[]{1, 2, 3, 4}
+                    )
+                );
+            }
+        }
+        throw new IllegalArgumentException(
+            "Unknown shape: " + shape
+        );
+    }
+
+    /**
+     * Encodes the value of this payload with the specified algo
+     *
+     * @throws IllegalStateException If the value cannot be encoded
+     */
+    public byte[] encode(
+        Algo algo
+    ) {
+        try (Chan chan = spare.telex(algo, value)) {
+            return chan.toBinary();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static User user(
+        int id
+    ) {
+        User user = new User();
+        user.id = id;
+        user.name = "kraity-" + id;
+        user.score = id * 1.5D;
+        user.admin = (id & 1) == 0;
+        user.tags = Arrays.asList(
+            "kat", "json", "xml \"<&>\""
+        );
+        return user;
+    }
+
+    public static class Shape {
+        public List<User> list;
+    }
+
+    public static class User {
+        @Magic("id")
+        public int id;
+
+        @Magic("name")
+        public String name;
+
+        @Magic("score")
+        public double score;
+
+        @Magic("admin")
+        public boolean admin;
+
+        @Magic("tags")
+        public List<String> tags;
+    }
+
+    public static final class Item {
+
+        private final int id;
+        private final String name;
+        private final double score;
+        private final int[] ranks;
+
+        public Item(
+            int id, String name, double score, int[] ranks
+        ) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+            this.ranks = ranks;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public double score() {
+            return score;
+        }
+
+        public int[] ranks() {
+            return ranks;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.benchmark;
+
+import plus.kat.*;
+import plus.kat.flow.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Decodes the payloads through every {@link Flow} and every {@link Algo}
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SolveBenchmark {
+
+    @Param({"kat", "xml", "json"})
+    public String algo;
+
+    @Param({"bean", "map", "list", "array", "record"})
+    public String shape;
+
+    @Param({"byte", "string", "char", "stream", "buffer", "reader"})
+    public String flow;
+
+    Algo kind;
+    byte[] bytes;
+    char[] chars;
+    String text;
+    ByteBuffer direct;
+    Payload payload;
+
+    @Setup
+    public void setup() {
+        kind = Algo.of(algo);
+        payload = Payload.of(shape);
+        bytes = payload.encode(kind);
+        text = new String(bytes, UTF_8);
+        chars = text.toCharArray();
+        direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+    }
+
+    @Benchmark
+    public Object solve() throws IOException {
+        Flow it;
+        switch (flow) {
+            case "byte": {
+                it = new ByteFlow(bytes);
+                break;
+            }
+            case "string": {
+                it = new StringFlow(text);
+                break;
+            }
+            case "char": {
+                it = new CharFlow(chars);
+                break;
+            }
+            case "stream": {
+                it = new InputStreamFlow(
+                    new ByteArrayInputStream(bytes)
+                );
+                break;
+            }
+            case "buffer": {
+                it = new ByteBufferFlow(
+                    direct.duplicate()
+                );
+                break;
+            }
+            case "reader": {
+                it = new ReaderFlow(
+                    new CharArrayReader(chars)
+                );
+                break;
+            }
+            default: {
+                throw new IllegalStateException(
+                    "Unknown flow: " + flow
+                );
+            }
+        }
+        return payload.spare.solve(
+            kind, payload.type, it
+        );
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.benchmark;
+
+import plus.kat.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the payloads through {@link Kat}, {@link Doc} and {@link Json}
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TelexBenchmark {
+
+    @Param({"kat", "xml", "json"})
+    public String algo;
+
+    @Param({"bean", "map", "list", "array", "record"})
+    public String shape;
+
+    @Param({"0", "1"})
+    public long flags;
+
+    Algo kind;
+    Payload payload;
+
+    @Setup
+    public void setup() {
+        kind = Algo.of(algo);
+        payload = Payload.of(shape);
+    }
+
+    @Benchmark
+    public byte[] telex() throws IOException {
+        try (Chan chan = payload.spare.telex(
+            kind, payload.value, flags)
+        ) {
+            return chan.toBinary();
+        }
+    }
+}
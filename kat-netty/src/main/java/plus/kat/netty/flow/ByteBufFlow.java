@@ -19,6 +19,7 @@ import plus.kat.*;
 import plus.kat.actor.*;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 
 import static plus.kat.flow.Stream.*;
 
@@ -29,6 +30,7 @@ import static plus.kat.flow.Stream.*;
 public final class ByteBufFlow extends Flow {
 
     private ByteBuf flow;
+    private byte[] temp;
 
     /**
      * Constructs this flow for the specified text
@@ -47,41 +49,83 @@ public final class ByteBufFlow extends Flow {
 
     @Override
     public int load() {
-        int n = flow.readerIndex(),
-            m = flow.writerIndex();
+        ByteBuf buf = flow;
+        int n = buf.readerIndex(),
+            m = buf.writerIndex();
 
-        i = 0;
         int size = m - n;
         if (size <= 0) {
             return l = -1;
         }
 
-        if (v == null) {
-            if (size > 1023) {
-                v = BUCKET.apply(
+        // heap buffer, points to
+        // the backing array directly
+        if (buf.hasArray()) {
+            v = buf.array();
+            i = buf.arrayOffset() + n;
+            buf.readerIndex(m);
+            return l = i + size;
+        }
+
+        // composite buffer, points to the
+        // backing array of each component
+        if (buf instanceof CompositeByteBuf) {
+            CompositeByteBuf comp =
+                (CompositeByteBuf) buf;
+            int c = comp.toComponentIndex(n);
+            ByteBuf part = comp.internalComponent(c);
+            if (part.hasArray()) {
+                int from = part.readerIndex() +
+                    n - comp.toByteIndex(c);
+                int count = part.writerIndex() - from;
+                if (count > size) {
+                    count = size;
+                }
+                if (count > 0) {
+                    v = part.array();
+                    i = part.arrayOffset() + from;
+                    buf.readerIndex(n + count);
+                    return l = i + count;
+                }
+            }
+        }
+
+        // direct buffer, copies into
+        // a reusable staging window
+        byte[] it = temp;
+        if (it == null) {
+            if (size > 8191) {
+                it = BUCKET.apply(
+                    null, 0, 8192
+                );
+            } else if (size > 1023) {
+                it = BUCKET.apply(
                     null, 0, 2048
                 );
             } else if (size > 511) {
-                v = new byte[256];
+                it = new byte[256];
             } else {
-                v = new byte[Math.min(size, 256)];
+                it = new byte[Math.min(size, 256)];
             }
+            temp = it;
         }
 
-        if (size > v.length) {
-            size = v.length;
+        if (size > it.length) {
+            size = it.length;
         }
 
-        flow.readBytes(
-            v, 0, size
+        i = 0;
+        buf.readBytes(
+            v = it, 0, size
         );
         return l = size;
     }
 
     @Override
     public void close() {
-        BUCKET.store(v);
+        BUCKET.store(temp);
         flow = null;
+        temp = null;
         super.close();
     }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.netty.handler;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.spare.*;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * An inbound handler that copies the chunks of a body into a
+ * {@link Feeder} as they arrive, and fires each solved document
+ * to the next handler
+ *
+ * <pre>{@code
+ *  pipeline.addLast(new HttpServerCodec());
+ *  pipeline.addLast(new FeederHandler<>(
+ *      Algo.JSON, Spare.of(User.class)
+ *  ));
+ *  pipeline.addLast(new UserHandler());
+ * }</pre>
+ * <p>
+ * Note that it buffers whole documents, a document is solved only once
+ * its last byte has arrived, so a body holding a single document is kept
+ * in memory as fully as an {@code HttpObjectAggregator} would keep it.
+ * It only saves memory for a body or a stream of many documents,
+ * each one is released as soon as it is solved, see {@link Feeder}
+ * <p>
+ * It reads {@link HttpRequest}, {@link HttpContent} and plain {@link ByteBuf}
+ * messages, the head of a request is passed on first, and then its content,
+ * if any, as with a {@link FullHttpRequest}. Any other message is passed on
+ * unchanged. Each chunk is copied into the feeder and released at once,
+ * {@link LastHttpContent} ends the body, so the next body starts with a
+ * fresh feeder. A bare scalar, such as a number, is solved only at the
+ * end of its body, so a trailing one on a plain {@link ByteBuf} stream,
+ * which has no end, is dropped when the handler is removed. A parsing
+ * error is fired as an exception and the rest of that body is dropped
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class FeederHandler<T> extends ChannelInboundHandlerAdapter {
+
+    protected final Algo algo;
+    protected final Type type;
+    protected final Spare<T> spare;
+
+    private boolean skip;
+    private Feeder<T> feeder;
+
+    /**
+     * Constructs a handler with the specified algo and spare
+     *
+     * @param algo  the specified algo of the body
+     * @param spare the specified spare to solve documents
+     * @throws NullPointerException If the algo or spare is null
+     */
+    public FeederHandler(
+        @NotNull Algo algo,
+        @NotNull Spare<T> spare
+    ) {
+        this(
+            algo, spare, null
+        );
+    }
+
+    /**
+     * Constructs a handler with the specified algo, spare and type
+     *
+     * @param algo  the specified algo of the body
+     * @param spare the specified spare to solve documents
+     * @param type  the specified actual type of documents
+     * @throws NullPointerException If the algo or spare is null
+     */
+    public FeederHandler(
+        @NotNull Algo algo,
+        @NotNull Spare<T> spare,
+        @Nilable Type type
+    ) {
+        if (algo != null &&
+            spare != null) {
+            this.algo = algo;
+            this.type = type;
+            this.spare = spare;
+        } else {
+            throw new NullPointerException(
+                "Received: (" + algo + ", " + spare + ")"
+            );
+        }
+    }
+
+    @Override
+    public void channelRead(
+        @NotNull ChannelHandlerContext ctx,
+        @NotNull Object msg
+    ) throws Exception {
+        ByteBuf buf;
+        boolean last = false;
+        if (msg instanceof HttpRequest) {
+            // a new body starts
+            skip = false;
+            release();
+            if (!(msg instanceof HttpContent)) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+            // the head of a full request
+            ctx.fireChannelRead(
+                head((HttpRequest) msg)
+            );
+        }
+
+        if (msg instanceof ByteBuf) {
+            buf = (ByteBuf) msg;
+        } else if (msg instanceof HttpContent) {
+            last = msg instanceof LastHttpContent;
+            if (skip) {
+                // the rest of a failed body
+                skip = !last;
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            buf = ((HttpContent) msg).content();
+        } else {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        Feeder<T> fe = feeder;
+        if (fe == null) {
+            feeder = fe = new Feeder<>(
+                algo, spare, type
+            );
+        }
+
+        try {
+            feed(fe, buf);
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+
+        try {
+            if (last) {
+                fe.finish();
+            }
+            T bean;
+            while ((bean = fe.poll()) != null) {
+                ctx.fireChannelRead(bean);
+            }
+        } catch (IOException e) {
+            if (!last) {
+                last = true;
+                skip = msg instanceof HttpContent;
+            }
+            ctx.fireExceptionCaught(e);
+        } finally {
+            if (last) {
+                fe.close();
+                feeder = null;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the head of the specified full request,
+     * so that the next handler still receives the request line
+     * and headers, while its content is solved by this handler
+     */
+    protected HttpRequest head(
+        @NotNull HttpRequest req
+    ) {
+        HttpRequest head = new DefaultHttpRequest(
+            req.protocolVersion(), req.method(), req.uri(), req.headers()
+        );
+        head.setDecoderResult(
+            req.decoderResult()
+        );
+        return head;
+    }
+
+    /**
+     * Feeds the readable bytes of the specified buffer,
+     * the backing arrays are used directly if present
+     */
+    protected void feed(
+        @NotNull Feeder<T> fe,
+        @NotNull ByteBuf buf
+    ) {
+        int size = buf.readableBytes();
+        if (size != 0) {
+            if (buf.hasArray()) {
+                fe.feed(
+                    buf.array(), buf.arrayOffset() + buf.readerIndex(), size
+                );
+            } else {
+                for (ByteBuffer part : buf.nioBuffers()) {
+                    fe.feed(part);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void channelInactive(
+        @NotNull ChannelHandlerContext ctx
+    ) throws Exception {
+        release();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(
+        @NotNull ChannelHandlerContext ctx
+    ) {
+        release();
+    }
+
+    /**
+     * Releases the segments of the pending body
+     */
+    private void release() {
+        Feeder<T> fe = feeder;
+        if (fe != null) {
+            feeder = null;
+            fe.close();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import plus.kat.*;
 import plus.kat.actor.*;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 
 import java.io.IOException;
@@ -86,4 +87,58 @@ public class ByteBufFlowTest {
         assertEquals(name, user.name);
         assertEquals(0, buf.readableBytes());
     }
+
+    @Test
+    public void test_composite() throws IOException {
+        CompositeByteBuf buf = Unpooled.compositeBuffer();
+        buf.addComponent(
+            true, Unpooled.wrappedBuffer("{id=1,na".getBytes())
+        );
+        ByteBuf direct = Unpooled.directBuffer();
+        direct.writeBytes("me=kr".getBytes());
+        buf.addComponent(
+            true, direct
+        );
+        buf.addComponent(
+            true, Unpooled.wrappedBuffer("--aity}--".getBytes(), 2, 5)
+        );
+
+        Spare<User> spare
+            = Spare.of(User.class);
+        User user = spare.read(
+            new ByteBufFlow(buf)
+        );
+
+        assertNotNull(user);
+        assertEquals(1, user.id);
+        assertEquals("kraity", user.name);
+        assertEquals(0, buf.readableBytes());
+        buf.release();
+    }
+
+    @Test
+    public void test_direct() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < 1300; j++) {
+            sb.append("kat");
+        }
+        String name = sb.toString();
+
+        ByteBuf buf = Unpooled.directBuffer();
+        buf.writeBytes(
+            ("{id=1,name=" + name + "}").getBytes()
+        );
+
+        Spare<User> spare
+            = Spare.of(User.class);
+        User user = spare.read(
+            new ByteBufFlow(buf)
+        );
+
+        assertNotNull(user);
+        assertEquals(1, user.id);
+        assertEquals(name, user.name);
+        assertEquals(0, buf.readableBytes());
+        buf.release();
+    }
 }
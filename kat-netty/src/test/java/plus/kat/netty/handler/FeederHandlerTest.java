@@ -0,0 +1,172 @@
+package plus.kat.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class FeederHandlerTest {
+
+    static class User {
+        public int id;
+        public String name;
+    }
+
+    static ByteBuf buf(String text) {
+        return Unpooled.copiedBuffer(text, UTF_8);
+    }
+
+    @Test
+    public void test_http_content() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(User.class)
+            )
+        );
+
+        HttpRequest head = new DefaultHttpRequest(
+            HttpVersion.HTTP_1_1, HttpMethod.POST, "/user"
+        );
+        assertTrue(channel.writeInbound(head));
+        assertSame(head, channel.readInbound());
+
+        ByteBuf c1 = buf("{\"id\":1,\"na");
+        ByteBuf c2 = Unpooled.directBuffer().writeBytes(
+            "me\":\"kraity\"}".getBytes(UTF_8)
+        );
+        assertFalse(channel.writeInbound(new DefaultHttpContent(c1)));
+        assertEquals(0, c1.refCnt());
+
+        assertTrue(channel.writeInbound(new DefaultHttpContent(c2)));
+        assertEquals(0, c2.refCnt());
+
+        User user = channel.readInbound();
+        assertNotNull(user);
+        assertEquals(1, user.id);
+        assertEquals("kraity", user.name);
+
+        assertFalse(channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT));
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void test_full_request() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(User.class)
+            )
+        );
+
+        ByteBuf body = buf("{\"id\":1,\"name\":\"kraity\"}{\"id\":2}");
+        FullHttpRequest req = new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1, HttpMethod.POST, "/user", body
+        );
+        req.headers().set(
+            HttpHeaderNames.CONTENT_TYPE, "application/json"
+        );
+        assertTrue(channel.writeInbound(req));
+        assertEquals(0, req.refCnt());
+
+        HttpRequest head = channel.readInbound();
+        assertNotNull(head);
+        assertFalse(head instanceof HttpContent);
+        assertEquals(HttpMethod.POST, head.method());
+        assertEquals("/user", head.uri());
+        assertEquals(
+            "application/json", head.headers().get(HttpHeaderNames.CONTENT_TYPE)
+        );
+
+        User user = channel.readInbound();
+        assertNotNull(user);
+        assertEquals(1, user.id);
+        assertEquals("kraity", user.name);
+        assertEquals(2, ((User) channel.readInbound()).id);
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void test_full_request_scalar() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(Integer.class)
+            )
+        );
+
+        assertTrue(channel.writeInbound(new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1, HttpMethod.POST, "/id", buf("1234")
+        )));
+        assertTrue(channel.readInbound() instanceof HttpRequest);
+        assertEquals(1234, (Integer) channel.readInbound());
+
+        assertTrue(channel.writeInbound(new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1, HttpMethod.POST, "/id", buf("56")
+        )));
+        assertTrue(channel.readInbound() instanceof HttpRequest);
+        assertEquals(56, (Integer) channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void test_byte_buf_stream() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(User.class)
+            )
+        );
+
+        assertTrue(channel.writeInbound(buf("{\"id\":1}{\"id\"")));
+        assertEquals(1, ((User) channel.readInbound()).id);
+        assertNull(channel.readInbound());
+
+        assertTrue(channel.writeInbound(buf(":2}\n{\"id\":3}")));
+        assertEquals(2, ((User) channel.readInbound()).id);
+        assertEquals(3, ((User) channel.readInbound()).id);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void test_scalar_on_last() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(Integer.class)
+            )
+        );
+
+        assertFalse(channel.writeInbound(new DefaultHttpContent(buf("12"))));
+        assertTrue(channel.writeInbound(new DefaultLastHttpContent(buf("34"))));
+        assertEquals(1234, (Integer) channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void test_error_drops_body() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new FeederHandler<>(
+                Algo.JSON, Spare.of(User.class)
+            )
+        );
+
+        assertThrows(IOException.class, () -> channel.writeInbound(
+            new DefaultHttpContent(buf("{\"id\" 1}"))
+        ));
+        assertFalse(channel.writeInbound(new DefaultHttpContent(buf("{\"id\":2}"))));
+        assertFalse(channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT));
+
+        assertTrue(channel.writeInbound(new DefaultLastHttpContent(buf("{\"id\":3}"))));
+        assertEquals(3, ((User) channel.readInbound()).id);
+        assertFalse(channel.finish());
+    }
+}
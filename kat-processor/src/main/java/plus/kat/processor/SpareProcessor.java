@@ -0,0 +1,704 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.*;
+
+import java.io.*;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates a {@code SimpleSpare} subclass named {@code Xxx$$Spare} for
+ * each {@code @Magus} class whose properties can be reached directly,
+ * and indexes them in {@code META-INF/services/plus.kat.Spare} so that
+ * the default supplier prefers them over {@code ReflectSpare}
+ * <p>
+ * Classes that need reflection, such as the ones with private fields
+ * without accessors, final fields, generic parameters, a superclass,
+ * constructor arguments, annotated methods or agents, are skipped
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@SupportedAnnotationTypes(
+    SpareProcessor.MAGUS
+)
+public class SpareProcessor extends AbstractProcessor {
+
+    static final String MAGUS = "plus.kat.actor.Magus";
+    static final String MAGIC = "plus.kat.actor.Magic";
+    static final String INDEX = "META-INF/services/plus.kat.Spare";
+
+    static final long FNV_PRIME = 0x100000001B3L;
+    static final long FNV_BASIS = 0xCBF29CE484222325L;
+
+    private final Set<String> spares = new TreeSet<>();
+    private final List<Element> origins = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+        Set<? extends TypeElement> annotations,
+        RoundEnvironment env
+    ) {
+        if (env.processingOver()) {
+            if (!spares.isEmpty()) {
+                index();
+            }
+            return false;
+        }
+
+        Elements elements =
+            processingEnv.getElementUtils();
+        TypeElement magus =
+            elements.getTypeElement(MAGUS);
+        if (magus == null) {
+            return false;
+        }
+
+        for (Element e : env.getElementsAnnotatedWith(magus)) {
+            if (e.getKind() == ElementKind.CLASS) {
+                TypeElement type = (TypeElement) e;
+                String reason = check(type);
+                if (reason == null) {
+                    generate(type);
+                } else {
+                    processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "Falls back to reflection: " + reason, e
+                    );
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the reason why the specified class
+     * cannot be compiled, or null if it can be
+     */
+    String check(
+        TypeElement type
+    ) {
+        Set<Modifier> mods = type.getModifiers();
+        if (mods.contains(Modifier.ABSTRACT)) {
+            return "abstract class";
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return "generic class";
+        }
+
+        for (Element e = type; e instanceof TypeElement;
+             e = e.getEnclosingElement()) {
+            Set<Modifier> ms = e.getModifiers();
+            if (ms.contains(Modifier.PRIVATE)) {
+                return "private class";
+            }
+            if (!ms.contains(Modifier.STATIC) &&
+                e.getEnclosingElement() instanceof TypeElement) {
+                return "non-static nested class";
+            }
+        }
+
+        TypeMirror sup = type.getSuperclass();
+        if (sup.getKind() != TypeKind.DECLARED || !((TypeElement)
+            ((DeclaredType) sup).asElement()).getQualifiedName()
+            .contentEquals("java.lang.Object")) {
+            return "superclass";
+        }
+
+        AnnotationMirror magus = mirror(type, MAGUS);
+        if (magus != null && value(magus, "agent") != null) {
+            return "agent";
+        }
+
+        boolean loader = false;
+        for (Element e : type.getEnclosedElements()) {
+            switch (e.getKind()) {
+                case CONSTRUCTOR: {
+                    ExecutableElement c = (ExecutableElement) e;
+                    if (!c.getParameters().isEmpty()) {
+                        return "constructor with arguments";
+                    }
+                    loader = !c.getModifiers()
+                        .contains(Modifier.PRIVATE);
+                    break;
+                }
+                case METHOD: {
+                    ExecutableElement m = (ExecutableElement) e;
+                    if (mirror(m, MAGIC) != null) {
+                        return "annotated method " + m.getSimpleName();
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (!loader) {
+            return "no accessible constructor";
+        }
+
+        for (VariableElement field : fields(type)) {
+            String reason = access(type, field, null);
+            if (reason != null) {
+                return reason;
+            }
+        }
+
+        // public accessors are properties
+        // as well, unless a field covers them
+        Set<String> writers = new HashSet<>();
+        Set<String> readers = new HashSet<>();
+        for (VariableElement field : fields(type)) {
+            List<String> names = names(field);
+            writers.add(names.get(0));
+            readers.addAll(names);
+        }
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            Set<Modifier> ms = e.getModifiers();
+            if (!ms.contains(Modifier.PUBLIC) ||
+                ms.contains(Modifier.STATIC) ||
+                ms.contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            ExecutableElement m = (ExecutableElement) e;
+            String name = m.getSimpleName().toString();
+            String prop = property(name);
+            if (prop == null) {
+                continue;
+            }
+            int size = m.getParameters().size();
+            switch (name.charAt(0)) {
+                case 's': {
+                    if (size == 1 && !readers.contains(prop)) {
+                        return "accessor " + name + " without field";
+                    }
+                    break;
+                }
+                case 'i': {
+                    TypeKind k = m.getReturnType().getKind();
+                    if (k != TypeKind.BOOLEAN && !m.getReturnType()
+                        .toString().endsWith("java.lang.Boolean")) {
+                        break;
+                    }
+                }
+                default: {
+                    if (size == 0 && !writers.contains(prop)) {
+                        return "accessor " + name + " without field";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name and the aliases of the specified field
+     */
+    List<String> names(
+        VariableElement field
+    ) {
+        List<String> names = new ArrayList<>();
+        AnnotationMirror magic = mirror(field, MAGIC);
+        if (magic != null) {
+            AnnotationValue v = value(magic, "value");
+            if (v != null) {
+                for (Object o : (List<?>) v.getValue()) {
+                    names.add(
+                        (String) ((AnnotationValue) o).getValue()
+                    );
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            names.add(
+                field.getSimpleName().toString()
+            );
+        }
+        return names;
+    }
+
+    /**
+     * Returns the fields that are properties of the specified class
+     */
+    List<VariableElement> fields(
+        TypeElement type
+    ) {
+        List<VariableElement> list = new ArrayList<>();
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            Set<Modifier> ms = e.getModifiers();
+            if (ms.contains(Modifier.STATIC) ||
+                ms.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if (ms.contains(Modifier.PUBLIC) ||
+                mirror(e, MAGIC) != null) {
+                list.add((VariableElement) e);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns the reason why the specified field cannot be reached,
+     * or null and fills the getter and setter expressions if it can
+     */
+    String access(
+        TypeElement type,
+        VariableElement field,
+        String[] out
+    ) {
+        String name = field.getSimpleName().toString();
+        Set<Modifier> ms = field.getModifiers();
+        if (ms.contains(Modifier.FINAL)) {
+            return "final field " + name;
+        }
+
+        AnnotationMirror magic = mirror(field, MAGIC);
+        if (magic != null && value(magic, "agent") != null) {
+            return "agent of field " + name;
+        }
+
+        if (!ms.contains(Modifier.PRIVATE)) {
+            if (out != null) {
+                out[0] = name;
+                out[1] = name + " = ";
+            }
+            return null;
+        }
+
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror kind = field.asType();
+        String cap = capitalize(name);
+
+        String getter = null, setter = null;
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            Set<Modifier> m = e.getModifiers();
+            if (m.contains(Modifier.PRIVATE) ||
+                m.contains(Modifier.STATIC)) {
+                continue;
+            }
+            ExecutableElement x = (ExecutableElement) e;
+            String n = x.getSimpleName().toString();
+            List<? extends VariableElement> ps = x.getParameters();
+            if (ps.isEmpty()) {
+                if ((n.equals("get" + cap) || n.equals("is" + cap)) &&
+                    types.isSameType(x.getReturnType(), kind)) {
+                    getter = n + "()";
+                }
+            } else if (ps.size() == 1) {
+                if (n.equals("set" + cap) &&
+                    types.isSameType(ps.get(0).asType(), kind)) {
+                    setter = n + "(";
+                }
+            }
+        }
+
+        if (getter == null || setter == null) {
+            return "private field " + name + " without accessors";
+        }
+        if (out != null) {
+            out[0] = getter;
+            out[1] = setter;
+        }
+        return null;
+    }
+
+    /**
+     * Writes the spare of the specified class
+     */
+    void generate(
+        TypeElement type
+    ) {
+        Elements elements =
+            processingEnv.getElementUtils();
+        String pkg = elements
+            .getPackageOf(type).getQualifiedName().toString();
+        String binary = elements
+            .getBinaryName(type).toString();
+        String spare = binary + "$$Spare";
+        String simple = pkg.isEmpty() ? spare :
+            spare.substring(pkg.length() + 1);
+        String target = type.getQualifiedName().toString();
+
+        StringBuilder sb = new StringBuilder(1024);
+        if (!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("/**\n")
+            .append(" * Generated by kat-processor for {@link ")
+            .append(target).append("}\n")
+            .append(" */\n")
+            .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(simple)
+            .append(" extends plus.kat.spare.SimpleSpare<")
+            .append(target).append("> {\n\n")
+            .append("    public ").append(simple).append("(\n")
+            .append("        String space,\n")
+            .append("        plus.kat.spare.Context context\n")
+            .append("    ) {\n")
+            .append("        super(space, ").append(target)
+            .append(".class, context);\n");
+
+        String[] out = new String[2];
+        for (VariableElement field : fields(type)) {
+            access(type, field, out);
+            property(sb, type, field, out[0], out[1]);
+        }
+
+        sb.append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public ").append(target).append(" apply() {\n")
+            .append("        return new ").append(target).append("();\n")
+            .append("    }\n")
+            .append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv
+                .getFiler().createSourceFile(spare, type);
+            try (Writer w = file.openWriter()) {
+                w.write(sb.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "Failed to write " + spare + ": " + e, type
+            );
+            return;
+        }
+
+        spares.add(spare);
+        origins.add(type);
+    }
+
+    /**
+     * Appends the embedding of the specified property
+     */
+    void property(
+        StringBuilder sb,
+        TypeElement type,
+        VariableElement field,
+        String getter,
+        String setter
+    ) {
+        String target = type.getQualifiedName().toString();
+        TypeMirror kind = field.asType();
+
+        int index = -1;
+        List<String> names = names(field);
+
+        AnnotationMirror magic = mirror(field, MAGIC);
+        if (magic != null) {
+            AnnotationValue i = value(magic, "index");
+            if (i != null) {
+                index = (Integer) i.getValue();
+            }
+        }
+
+        sb.append("        embed(\n")
+            .append("            ").append(literal(names.get(0)))
+            .append(", new long[]{");
+        for (int i = 0; i < names.size(); i++) {
+            if (i != 0) sb.append(", ");
+            sb.append("0x").append(Long.toHexString(
+                hash(names.get(i)))).append('L');
+        }
+        sb.append("},\n")
+            .append("            new Accessor(").append(index)
+            .append(", ").append(typeOf(type, field))
+            .append(", context) {\n")
+            .append("                @Override\n")
+            .append("                public Object apply(\n")
+            .append("                    Object bean\n")
+            .append("                ) {\n")
+            .append("                    return ((").append(target)
+            .append(") bean).").append(getter).append(";\n")
+            .append("                }\n\n")
+            .append("                @Override\n")
+            .append("                public boolean accept(\n")
+            .append("                    Object bean,\n")
+            .append("                    Object value\n")
+            .append("                ) {\n")
+            .append("                    if (value != null) {\n")
+            .append("                        ((").append(target)
+            .append(") bean).").append(setter)
+            .append(unbox(kind)).append(setter.endsWith("(") ? ");\n" : ";\n")
+            .append("                        return true;\n")
+            .append("                    }\n")
+            .append("                    return false;\n")
+            .append("                }\n")
+            .append("            }\n")
+            .append("        );\n");
+    }
+
+    /**
+     * Returns the expression that converts {@code value} to the field type
+     */
+    String unbox(
+        TypeMirror kind
+    ) {
+        switch (kind.getKind()) {
+            case INT:
+                return "((Number) value).intValue()";
+            case LONG:
+                return "((Number) value).longValue()";
+            case SHORT:
+                return "((Number) value).shortValue()";
+            case BYTE:
+                return "((Number) value).byteValue()";
+            case FLOAT:
+                return "((Number) value).floatValue()";
+            case DOUBLE:
+                return "((Number) value).doubleValue()";
+            case BOOLEAN:
+                return "(Boolean) value";
+            case CHAR:
+                return "(Character) value";
+        }
+        return "(" + raw(kind) + ") value";
+    }
+
+    /**
+     * Returns the expression of the generic type of the specified field
+     */
+    String typeOf(
+        TypeElement type,
+        VariableElement field
+    ) {
+        TypeMirror kind = field.asType();
+        TypeMirror base = kind;
+        while (base.getKind() == TypeKind.ARRAY) {
+            base = ((ArrayType) base).getComponentType();
+        }
+
+        if (base.getKind().isPrimitive() ||
+            (base.getKind() == TypeKind.DECLARED &&
+                ((DeclaredType) base).getTypeArguments().isEmpty())) {
+            return raw(kind) + ".class";
+        }
+
+        // generic types are resolved once from the field
+        return "typeOf(" + type.getQualifiedName() + ".class, "
+            + literal(field.getSimpleName().toString()) + ")";
+    }
+
+    /**
+     * Returns the source name of the erasure of the specified type
+     */
+    String raw(
+        TypeMirror kind
+    ) {
+        switch (kind.getKind()) {
+            case ARRAY: {
+                return raw(
+                    ((ArrayType) kind).getComponentType()
+                ) + "[]";
+            }
+            case DECLARED: {
+                return ((TypeElement) ((DeclaredType) kind)
+                    .asElement()).getQualifiedName().toString();
+            }
+            case TYPEVAR: {
+                return raw(
+                    processingEnv.getTypeUtils().erasure(kind)
+                );
+            }
+        }
+        if (kind.getKind().isPrimitive()) {
+            return kind.getKind().name()
+                .toLowerCase(Locale.ROOT);
+        }
+        return processingEnv.getTypeUtils()
+            .erasure(kind).toString();
+    }
+
+    /**
+     * Appends the compiled spares to the index
+     */
+    void index() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> all = new TreeSet<>(spares);
+
+        try {
+            FileObject old = filer.getResource(
+                StandardLocation.CLASS_OUTPUT, "", INDEX
+            );
+            try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(old.openInputStream(), UTF_8))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        all.add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Ignore this exception
+        }
+
+        try {
+            FileObject file = filer.createResource(
+                StandardLocation.CLASS_OUTPUT, "", INDEX,
+                origins.toArray(new Element[0])
+            );
+            try (Writer w = new OutputStreamWriter(
+                file.openOutputStream(), UTF_8)) {
+                for (String name : all) {
+                    w.write(name);
+                    w.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "Failed to write " + INDEX + ": " + e
+            );
+        }
+    }
+
+    static AnnotationMirror mirror(
+        Element e, String name
+    ) {
+        for (AnnotationMirror m : e.getAnnotationMirrors()) {
+            if (((TypeElement) m.getAnnotationType().asElement())
+                .getQualifiedName().contentEquals(name)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    static AnnotationValue value(
+        AnnotationMirror m, String name
+    ) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue>
+            e : m.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    static String property(
+        String name
+    ) {
+        int i;
+        if (name.startsWith("get") ||
+            name.startsWith("set")) {
+            i = 3;
+        } else if (name.startsWith("is")) {
+            i = 2;
+        } else {
+            return null;
+        }
+        int m = name.length();
+        if (m > i) {
+            char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (i + 1 == m) {
+                    c += 0x20;
+                } else {
+                    char d = name.charAt(i + 1);
+                    if (d < 'A' || 'Z' < d) {
+                        c += 0x20;
+                    }
+                }
+                return c + name.substring(i + 1);
+            }
+        }
+        return null;
+    }
+
+    static String capitalize(
+        String name
+    ) {
+        char c = name.charAt(0);
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - 0x20) + name.substring(1);
+        }
+        return name;
+    }
+
+    static long hash(
+        String name
+    ) {
+        long h = FNV_BASIS;
+        for (int i = 0; i < name.length(); i++) {
+            h = (name.charAt(i) ^ h) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    static String literal(
+        String text
+    ) {
+        StringBuilder sb = new StringBuilder(
+            text.length() + 2
+        ).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\': {
+                    sb.append('\\').append(c);
+                    break;
+                }
+                case '\n': {
+                    sb.append("\\n");
+                    break;
+                }
+                case '\r': {
+                    sb.append("\\r");
+                    break;
+                }
+                case '\t': {
+                    sb.append("\\t");
+                    break;
+                }
+                default: {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
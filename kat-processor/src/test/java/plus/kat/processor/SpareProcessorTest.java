@@ -0,0 +1,102 @@
+package plus.kat.processor;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.spare.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class SpareProcessorTest {
+
+    @Magus
+    public static class User {
+        @Magic(value = "id", index = 0)
+        public int id;
+
+        @Magic({"name", "alias"})
+        String name;
+
+        @Magic("admin")
+        private boolean admin;
+
+        public List<String> tags;
+        public transient int ignored;
+
+        public boolean isAdmin() {
+            return admin;
+        }
+
+        public void setAdmin(
+            boolean admin
+        ) {
+            this.admin = admin;
+        }
+    }
+
+    @Magus
+    public static class Meta {
+        @Magic("id")
+        private final int id;
+
+        public Meta() {
+            this.id = 1;
+        }
+    }
+
+    @Test
+    public void test_compiled() throws IOException {
+        Spare<User> spare =
+            Spare.of(User.class);
+
+        assertInstanceOf(
+            SimpleSpare.class, spare
+        );
+        assertEquals(
+            User.class.getName() + "$$Spare",
+            spare.getClass().getName()
+        );
+
+        User user = spare.read(
+            Flow.of(
+                "{id=1,alias=kraity,admin=true,tags=[kat,json]}"
+            )
+        );
+
+        assertNotNull(user);
+        assertEquals(1, user.id);
+        assertTrue(user.admin);
+        assertEquals("kraity", user.name);
+        assertEquals(Arrays.asList("kat", "json"), user.tags);
+
+        Spare<User> reflect = new ReflectSpare<>(
+            null, User.class, Supplier.ins()
+        );
+        for (Algo algo : new Algo[]{
+            Algo.KAT, Algo.DOC, Algo.JSON}) {
+            try (Chan c1 = spare.telex(algo, user);
+                 Chan c2 = reflect.telex(algo, user)) {
+                assertEquals(
+                    c2.toString(), c1.toString()
+                );
+            }
+        }
+    }
+
+    @Test
+    public void test_fallback() {
+        Spare<Meta> spare =
+            Spare.of(Meta.class);
+
+        assertInstanceOf(
+            ReflectSpare.class, spare
+        );
+    }
+}
@@ -15,6 +15,7 @@
  */
 package plus.kat;
 
+import plus.kat.actor.Nilable;
 import plus.kat.actor.NotNull;
 import plus.kat.actor.Nullable;
 
@@ -24,12 +25,11 @@ import plus.kat.spare.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.util.Map;
-import java.util.Set;
-import java.util.List;
 import java.lang.reflect.Type;
 
 import static plus.kat.spare.Supplier.Vendor.*;
@@ -46,7 +46,28 @@ public class Doc extends Stream implements Chan {
         AMP = '&', QUOT = '"',
         APOS = '\'', EQUAL = '=';
 
+    /**
+     * The escape tables of ascii, see {@link #escape()}
+     */
+    static final byte[] PLAIN = new byte[128],
+        NAMED = new byte[128];
+
+    static {
+        PLAIN[LT] = 1;
+        PLAIN[GT] = 1;
+        PLAIN[AMP] = 1;
+
+        System.arraycopy(
+            PLAIN, 0, NAMED, 0, 128
+        );
+        NAMED[QUOT] = 1;
+        NAMED[SOL] = 1;
+        NAMED[' '] = 1;
+        NAMED[EQUAL] = 1;
+    }
+
     protected Context context;
+    protected InlineCache cache;
 
     /**
      * Constructs a xml with the default flags and context
@@ -87,7 +108,28 @@ public class Doc extends Stream implements Chan {
         @NotNull long flags,
         @NotNull Context context
     ) {
-        super(flags);
+        this(
+            flags, context, null
+        );
+    }
+
+    /**
+     * Constructs a xml with the flags, specified context and sink.
+     * If the sink is not null, the encoded bytes are written to it in
+     * chunks while encoding, and call {@link #flush()} to write the rest
+     *
+     * @param flags   the specified flags
+     * @param context the specified context
+     * @param sink    the specified sink, may be null
+     */
+    public Doc(
+        @NotNull long flags,
+        @NotNull Context context,
+        @Nilable OutputStream sink
+    ) {
+        super(
+            flags, BUCKET, sink
+        );
         if (context != null) {
             this.context = context;
         } else {
@@ -144,6 +186,7 @@ public class Doc extends Stream implements Chan {
         @Nullable String space,
         @Nullable Entity value
     ) throws IOException {
+        drain();
         if (alias == null) {
             if (space != null) {
                 alias = space;
@@ -172,27 +215,9 @@ public class Doc extends Stream implements Chan {
         }
 
         join(LT);
-        state = 1;
         int mark1 = size;
-        if (alias instanceof String) {
-            emit((String) alias);
-        } else if (alias instanceof Binary) {
-            emit((Binary) alias);
-        } else {
-            Spare<?> spare = context.assign(
-                alias.getClass()
-            );
-            if (spare != null) {
-                spare.write((Flux) this, alias);
-            } else {
-                throw new IOException(
-                    "No spare of " + alias
-                        .getClass() + " was found"
-                );
-            }
-        }
+        tag(alias);
         int mark2 = size - mark1;
-        state = 0;
         join(GT);
 
         if (value != null) {
@@ -219,13 +244,19 @@ public class Doc extends Stream implements Chan {
 
         join(LT);
         join(SOL);
-        byte[] it = grow(
-            size + mark2
-        );
-        System.arraycopy(
-            it, mark1, it, size, mark2
-        );
-        size += mark2;
+        if (sink == null) {
+            byte[] it = grow(
+                size + mark2
+            );
+            System.arraycopy(
+                it, mark1, it, size, mark2
+            );
+            size += mark2;
+        } else {
+            // the open tag may
+            // have been flushed
+            tag(alias);
+        }
         join(GT);
         return true;
     }
@@ -243,6 +274,7 @@ public class Doc extends Stream implements Chan {
         @Nullable Coder<?> coder,
         @Nullable Object value
     ) throws IOException {
+        drain();
         if (value == null) {
             return set(
                 alias, "Any", null
@@ -250,20 +282,19 @@ public class Doc extends Stream implements Chan {
         }
 
         if (coder == null) {
+            InlineCache ic = cache;
+            if (ic == null) {
+                cache = ic = new InlineCache(context);
+            }
+
             // search for the spare of value
-            coder = context.assign(
+            coder = ic.assign(
                 value.getClass()
             );
 
             // solving the coder problem again
             if (coder == null) {
-                if (value instanceof Map) {
-                    coder = MapSpare.INSTANCE;
-                } else if (value instanceof Set) {
-                    coder = SetSpare.INSTANCE;
-                } else if (value instanceof List) {
-                    coder = ListSpare.INSTANCE;
-                } else if (value instanceof Entity) {
+                if (value instanceof Entity) {
                     return set(
                         alias, (Entity) value
                     );
@@ -302,27 +333,9 @@ public class Doc extends Stream implements Chan {
         }
 
         join(LT);
-        state = 1;
         int mark1 = size;
-        if (alias instanceof String) {
-            emit((String) alias);
-        } else if (alias instanceof Binary) {
-            emit((Binary) alias);
-        } else {
-            Spare<?> spare = context.assign(
-                alias.getClass()
-            );
-            if (spare != null) {
-                spare.write((Flux) this, alias);
-            } else {
-                throw new IOException(
-                    "No spare of " + alias
-                        .getClass() + " was found"
-                );
-            }
-        }
+        tag(alias);
         int mark2 = size - mark1;
-        state = 0;
         join(GT);
 
         if (scope == null) {
@@ -353,17 +366,55 @@ public class Doc extends Stream implements Chan {
 
         join(LT);
         join(SOL);
-        byte[] it = grow(
-            size + mark2
-        );
-        System.arraycopy(
-            it, mark1, it, size, mark2
-        );
-        size += mark2;
+        if (sink == null) {
+            byte[] it = grow(
+                size + mark2
+            );
+            System.arraycopy(
+                it, mark1, it, size, mark2
+            );
+            size += mark2;
+        } else {
+            // the open tag may
+            // have been flushed
+            tag(alias);
+        }
         join(GT);
         return true;
     }
 
+    /**
+     * Concatenates the specified alias as the tag name
+     *
+     * @param alias the specified alias of tag
+     * @throws IOException If an I/O error occurs
+     */
+    protected void tag(
+        @NotNull Object alias
+    ) throws IOException {
+        state = 1;
+        if (alias instanceof Label) {
+            emit((Label) alias);
+        } else if (alias instanceof String) {
+            emit((String) alias);
+        } else if (alias instanceof Binary) {
+            emit((Binary) alias);
+        } else {
+            Spare<?> spare = context.assign(
+                alias.getClass()
+            );
+            if (spare != null) {
+                spare.write((Flux) this, alias);
+            } else {
+                throw new IOException(
+                    "No spare of " + alias
+                        .getClass() + " was found"
+                );
+            }
+        }
+        state = 0;
+    }
+
     /**
      * Returns the {@link Flux} of chan
      */
@@ -380,6 +431,11 @@ public class Doc extends Stream implements Chan {
         return context;
     }
 
+    @Override
+    protected byte[] escape() {
+        return state == 0 ? PLAIN : NAMED;
+    }
+
     /**
      * Concatenates the value to this flux
      *
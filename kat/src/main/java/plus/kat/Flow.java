@@ -21,6 +21,7 @@ import plus.kat.actor.*;
 
 import java.io.*;
 import java.nio.*;
+import java.nio.file.Path;
 import java.nio.charset.*;
 
 /**
@@ -415,6 +416,27 @@ public abstract class Flow implements Flag {
         return new InputStreamFlow(text);
     }
 
+    /**
+     * Returns the {@link Flow} of the specified file, the file
+     * is mapped in large windows and closed with the flow
+     * <p>
+     * For example
+     * <pre>{@code
+     *  Path path = ...
+     *  User user = spare.parse(
+     *      Flow.of(path)
+     *  );
+     * }</pre>
+     *
+     * @throws NullPointerException If the specified path is null
+     * @see MappedFileFlow
+     */
+    public static Flow of(
+        @NotNull Path text
+    ) {
+        return new MappedFileFlow(text);
+    }
+
     /**
      * Returns the {@link Flow} of the specified {@link ByteBuffer}
      *
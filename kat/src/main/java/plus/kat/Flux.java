@@ -255,4 +255,19 @@ public interface Flux extends Flag, Closeable {
     void emit(
         @NotNull CharSequence value, int offset, int length
     ) throws IOException;
+
+    /**
+     * Concatenates the pre-encoded bytes to this flux as they are,
+     * the bytes must not contain any byte escaped by this flux
+     *
+     * @param value  the specified pre-encoded value
+     * @param offset the specified begin index
+     * @param length the specified required length
+     * @throws IOException If an I/O error occurs
+     */
+    default void join(
+        @NotNull byte[] value, int offset, int length
+    ) throws IOException {
+        emit(value, offset, length);
+    }
 }
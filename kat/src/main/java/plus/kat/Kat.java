@@ -15,6 +15,7 @@
  */
 package plus.kat;
 
+import plus.kat.actor.Nilable;
 import plus.kat.actor.NotNull;
 import plus.kat.actor.Nullable;
 
@@ -24,12 +25,11 @@ import plus.kat.spare.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.util.Map;
-import java.util.Set;
-import java.util.List;
 import java.lang.reflect.Type;
 
 import static plus.kat.spare.Supplier.Vendor.*;
@@ -46,6 +46,7 @@ public class Kat extends Stream implements Chan {
 
     protected boolean head;
     protected Context context;
+    protected InlineCache cache;
 
     /**
      * Constructs a kat with the default flags and context
@@ -86,7 +87,28 @@ public class Kat extends Stream implements Chan {
         @NotNull long flags,
         @NotNull Context context
     ) {
-        super(flags);
+        this(
+            flags, context, null
+        );
+    }
+
+    /**
+     * Constructs a kat with the flags, specified context and sink.
+     * If the sink is not null, the encoded bytes are written to it in
+     * chunks while encoding, and call {@link #flush()} to write the rest
+     *
+     * @param flags   the specified flags
+     * @param context the specified context
+     * @param sink    the specified sink, may be null
+     */
+    public Kat(
+        @NotNull long flags,
+        @NotNull Context context,
+        @Nilable OutputStream sink
+    ) {
+        super(
+            flags, BUCKET, sink
+        );
         if (context != null) {
             this.head = true;
             this.context = context;
@@ -144,6 +166,7 @@ public class Kat extends Stream implements Chan {
         @Nullable String space,
         @Nullable Entity value
     ) throws IOException {
+        drain();
         if (head) {
             head = false;
         } else {
@@ -165,7 +188,9 @@ public class Kat extends Stream implements Chan {
 
         if (alias != null) {
             state = 1;
-            if (alias instanceof String) {
+            if (alias instanceof Label) {
+                emit((Label) alias);
+            } else if (alias instanceof String) {
                 emit((String) alias);
             } else if (alias instanceof Binary) {
                 emit((Binary) alias);
@@ -271,6 +296,7 @@ public class Kat extends Stream implements Chan {
         @Nullable Coder<?> coder,
         @Nullable Object value
     ) throws IOException {
+        drain();
         if (value == null) {
             return set(
                 alias, "Any", null
@@ -278,20 +304,19 @@ public class Kat extends Stream implements Chan {
         }
 
         if (coder == null) {
+            InlineCache ic = cache;
+            if (ic == null) {
+                cache = ic = new InlineCache(context);
+            }
+
             // search for the spare of value
-            coder = context.assign(
+            coder = ic.assign(
                 value.getClass()
             );
 
             // solving the coder problem again
             if (coder == null) {
-                if (value instanceof Map) {
-                    coder = MapSpare.INSTANCE;
-                } else if (value instanceof Set) {
-                    coder = SetSpare.INSTANCE;
-                } else if (value instanceof List) {
-                    coder = ListSpare.INSTANCE;
-                } else if (value instanceof Entity) {
+                if (value instanceof Entity) {
                     return set(
                         alias, (Entity) value
                     );
@@ -324,7 +349,9 @@ public class Kat extends Stream implements Chan {
 
         if (alias != null) {
             state = 1;
-            if (alias instanceof String) {
+            if (alias instanceof Label) {
+                emit((Label) alias);
+            } else if (alias instanceof String) {
                 emit((String) alias);
             } else if (alias instanceof Binary) {
                 emit((Binary) alias);
@@ -20,10 +20,14 @@ import plus.kat.actor.NotNull;
 import plus.kat.actor.Nullable;
 
 import plus.kat.chain.*;
+import plus.kat.flow.*;
 import plus.kat.spare.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 import static plus.kat.Algo.*;
 import static plus.kat.spare.Supplier.Vendor.*;
@@ -369,6 +373,32 @@ public interface Spare<T> extends Coder<T> {
         );
     }
 
+    /**
+     * Decodes the json text and converts the result to {@link T},
+     * only the properties of the specified projection are decoded
+     *
+     * <pre>{@code
+     *  Flow flow = ...
+     *  Spare<User> spare = ...
+     *  User user = spare.parse(
+     *      flow, Projection.of("id", "tags[*]")
+     *  );
+     * }</pre>
+     *
+     * @param text the specified flow to be decoded
+     * @param view the specified projection of paths
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    @Nullable
+    default T parse(
+        @NotNull Flow text,
+        @Nilable Projection view
+    ) throws IOException {
+        return solve(
+            JSON, text, view
+        );
+    }
+
     /**
      * Encodes the specified {@link T} to json stream
      *
@@ -459,6 +489,28 @@ public interface Spare<T> extends Coder<T> {
         }
     }
 
+    /**
+     * Decodes the specified text and converts the result to {@link T},
+     * only the properties of the specified projection are decoded
+     *
+     * @param algo the specified algo for solve
+     * @param text the specified flow to be decoded
+     * @param view the specified projection of paths
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    @Nullable
+    default T solve(
+        @NotNull Algo algo,
+        @NotNull Flow text,
+        @Nilable Projection view
+    ) throws IOException {
+        try (Parser op = Parser.apply()) {
+            op.setView(view);
+            op.setSpare(this);
+            return op.solve(algo, text);
+        }
+    }
+
     /**
      * Encodes the specified {@link T} to target stream with the flags
      *
@@ -528,6 +580,93 @@ public interface Spare<T> extends Coder<T> {
         return chan;
     }
 
+    /**
+     * Encodes the specified {@link T} to the sink with the flags, the
+     * encoded bytes are written to the sink in chunks while encoding
+     *
+     * <pre>{@code
+     *  User user = ...
+     *  Spare<User> spare = ...
+     *
+     *  try (OutputStream sink = ...) {
+     *      spare.telex(JSON, user, 0, sink);
+     *  }
+     * }</pre>
+     *
+     * @param algo  the specified algo for telex
+     * @param value the specified value to be encoded
+     * @param flags the specified flags for serialization
+     * @param sink  the specified sink, calling {@link OutputStream#close()} has no effect
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable T value, long flags,
+        @NotNull OutputStream sink
+    ) throws IOException {
+        if (sink == null) {
+            throw new NullPointerException(
+                "Received sink is null"
+            );
+        }
+
+        Stream chan;
+        switch (algo.hashCode()) {
+            case kat: {
+                chan = new Kat(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            case doc: {
+                chan = new Doc(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            case json: {
+                chan = new Json(
+                    flags, getContext(), sink
+                );
+                break;
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+        try {
+            ((Chan) chan).set(
+                null, this, value
+            );
+            chan.flush();
+        } finally {
+            chan.close();
+        }
+    }
+
+    /**
+     * Encodes the specified {@link T} to the channel with the flags, the
+     * encoded bytes are written to the channel in chunks while encoding
+     *
+     * @param algo  the specified algo for telex
+     * @param value the specified value to be encoded
+     * @param flags the specified flags for serialization
+     * @param sink  the specified channel, it must be in blocking mode
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable T value, long flags,
+        @NotNull WritableByteChannel sink
+    ) throws IOException {
+        telex(
+            algo, value, flags,
+            Channels.newOutputStream(sink)
+        );
+    }
+
     /**
      * Search for the spare of the specified type from the default {@link Context}
      *
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.chain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded decimal to binary conversion of bytes,
+ * the small numbers take the exact path of Clinger and the
+ * others the 128-bit approximation of Eisel and Lemire
+ * <p>
+ * A number of more than 19 significant digits or out of
+ * the grammar {@code [+-]digits[.digits][(e|E)[+-]digits]}
+ * returns {@link Double#NaN}, the caller falls back to the JDK
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Decimal {
+
+    static final int MIN_Q = -342, MAX_Q = 308;
+
+    /**
+     * The truncated 128-bit powers of five from
+     * {@code 5^-342} to {@code 5^308}, the high word first
+     */
+    static final long[] POW5 = new long[
+        (MAX_Q - MIN_Q + 1) * 2
+        ];
+
+    static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_Q; q <= MAX_Q; q++) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger p = five.pow(-q);
+                int z = p.bitLength();
+                if (q < -27) {
+                    c = BigInteger.ONE.shiftLeft(
+                        z * 2 + 128
+                    ).divide(p).add(BigInteger.ONE);
+                    int b = c.bitLength();
+                    if (b > 128) {
+                        c = c.shiftRight(b - 128);
+                    }
+                } else {
+                    c = BigInteger.ONE.shiftLeft(
+                        z + 127
+                    ).divide(p).add(BigInteger.ONE);
+                }
+            } else {
+                c = five.pow(q);
+                int b = c.bitLength();
+                if (b < 128) {
+                    c = c.shiftLeft(128 - b);
+                } else {
+                    c = c.shiftRight(b - 128);
+                }
+            }
+            int k = (q - MIN_Q) << 1;
+            POW5[k] = c.shiftRight(64).longValue();
+            POW5[k + 1] = c.longValue();
+        }
+    }
+
+    private Decimal() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Parses the specified bytes as a double, or as a float
+     * widened to double, returns {@link Double#NaN} if unsupported
+     *
+     * @param v      the specified bytes
+     * @param l      the specified length of bytes
+     * @param single whether to round to a float
+     */
+    static double parse(
+        byte[] v, int l, boolean single
+    ) {
+        if (l == 0) {
+            return Double.NaN;
+        }
+
+        int i = 0;
+        byte c = v[0];
+        boolean neg = false;
+        if (c == '-') {
+            i = 1;
+            neg = true;
+        } else if (c == '+') {
+            i = 1;
+        }
+
+        long w = 0;
+        int n = 0, d = 0, q = 0;
+        while (i < l) {
+            c = v[i];
+            if (c < '0' || c > '9') {
+                break;
+            }
+            if (w != 0 || c != '0') {
+                if (++n > 19) {
+                    return Double.NaN;
+                }
+                w = w * 10 + (c - '0');
+            }
+            d++;
+            i++;
+        }
+
+        if (i < l && v[i] == '.') {
+            i++;
+            while (i < l) {
+                c = v[i];
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (w != 0 || c != '0') {
+                    if (++n > 19) {
+                        return Double.NaN;
+                    }
+                    w = w * 10 + (c - '0');
+                }
+                q--;
+                d++;
+                i++;
+            }
+        }
+
+        if (d == 0) {
+            return Double.NaN;
+        }
+
+        if (i < l && (v[i] | 0x20) == 'e') {
+            if (++i == l) {
+                return Double.NaN;
+            }
+            boolean m = false;
+            c = v[i];
+            if (c == '-') {
+                i++;
+                m = true;
+            } else if (c == '+') {
+                i++;
+            }
+
+            int x = 0, e = 0;
+            while (i < l) {
+                c = v[i];
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (x < 100000) {
+                    x = x * 10 + (c - '0');
+                }
+                e++;
+                i++;
+            }
+            if (e == 0) {
+                return Double.NaN;
+            }
+            q += m ? -x : x;
+        }
+
+        if (i != l) {
+            return Double.NaN;
+        }
+
+        if (single) {
+            if (w >= 0 && w <= 1L << 24 && q >= -10 && q <= 10) {
+                float f = w;
+                if (q < 0) {
+                    f /= (float) POW10[-q];
+                } else {
+                    f *= (float) POW10[q];
+                }
+                return neg ? -f : f;
+            }
+        } else {
+            if (w >= 0 && w <= 1L << 53 && q >= -22 && q <= 22) {
+                double f = w;
+                if (q < 0) {
+                    f /= POW10[-q];
+                } else {
+                    f *= POW10[q];
+                }
+                return neg ? -f : f;
+            }
+        }
+
+        return lemire(
+            w, q, neg, single
+        );
+    }
+
+    /**
+     * Returns the nearest double, or float widened to double,
+     * of the specified significand of at most 19 digits times
+     * the specified power of ten
+     */
+    static double lemire(
+        long w, int q, boolean neg, boolean single
+    ) {
+        int bits, bias, top;
+        if (single) {
+            bits = 23;
+            bias = -127;
+            top = 0xFF;
+            if (w == 0 || q < -65) {
+                return neg ? -0F : 0F;
+            }
+            if (q > 38) {
+                return neg ?
+                    Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+            }
+        } else {
+            bits = 52;
+            bias = -1023;
+            top = 0x7FF;
+            if (w == 0 || q < MIN_Q) {
+                return neg ? -0D : 0D;
+            }
+            if (q > MAX_Q) {
+                return neg ?
+                    Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        int k = (q - MIN_Q) << 1;
+        long hi = multiplyHigh(w, POW5[k]);
+        long lo = w * POW5[k];
+
+        long mask = -1L >>> (bits + 3);
+        if ((hi & mask) == mask) {
+            long h2 = multiplyHigh(w, POW5[k + 1]);
+            lo += h2;
+            if (Long.compareUnsigned(h2, lo) > 0) {
+                hi++;
+            }
+        }
+
+        int upper = (int) (hi >>> 63);
+        int shift = upper + 61 - bits;
+        long m = hi >>> shift;
+        int p = (((152170 + 65536) * q) >> 16) + 63 + upper - lz - bias;
+
+        if (p <= 0) {
+            if (1 - p >= 64) {
+                m = 0;
+                p = 0;
+            } else {
+                m >>>= 1 - p;
+                m += m & 1;
+                m >>>= 1;
+                p = m < (1L << bits) ? 0 : 1;
+            }
+        } else {
+            // exactly halfway, round to even
+            if (Long.compareUnsigned(lo, 1) <= 0 && (m & 3) == 1 &&
+                q >= (single ? -17 : -4) && q <= (single ? 10 : 23)) {
+                if (m << shift == hi) {
+                    m &= ~1L;
+                }
+            }
+            m += m & 1;
+            m >>>= 1;
+            if (m >= (2L << bits)) {
+                m = 1L << bits;
+                p++;
+            }
+            m &= ~(1L << bits);
+            if (p >= top) {
+                p = top;
+                m = 0;
+            }
+        }
+
+        if (single) {
+            int f = (p << 23) | (int) m;
+            return Float.intBitsToFloat(
+                neg ? f | 0x80000000 : f
+            );
+        } else {
+            long f = ((long) p << 52) | m;
+            return Double.longBitsToDouble(
+                neg ? f | 0x8000000000000000L : f
+            );
+        }
+    }
+
+    /**
+     * Returns the high word of the unsigned product
+     */
+    static long multiplyHigh(
+        long x, long y
+    ) {
+        long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        long p01 = x0 * y1, p10 = x1 * y0;
+        long mid = ((x0 * y0) >>> 32)
+            + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+        return x1 * y1 + (p01 >>> 32) + (p10 >>> 32) + (mid >>> 32);
+    }
+
+    /**
+     * Parses the specified bytes as a big decimal of
+     * at most 18 digits, returns null if unsupported
+     *
+     * @param v the specified bytes
+     * @param l the specified length of bytes
+     */
+    static BigDecimal toBigDecimal(
+        byte[] v, int l
+    ) {
+        if (l == 0) {
+            return null;
+        }
+
+        int i = 0;
+        byte c = v[0];
+        boolean neg = false;
+        if (c == '-') {
+            i = 1;
+            neg = true;
+        } else if (c == '+') {
+            i = 1;
+        }
+
+        long w = 0;
+        int n = 0, d = 0, s = 0;
+        boolean dot = false;
+        while (i < l) {
+            c = v[i];
+            if (c >= '0' && c <= '9') {
+                if (w != 0 || c != '0') {
+                    if (++n > 18) {
+                        return null;
+                    }
+                    w = w * 10 + (c - '0');
+                }
+                if (dot) {
+                    s++;
+                }
+                d++;
+                i++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        if (d == 0) {
+            return null;
+        }
+
+        if (i < l && (v[i] | 0x20) == 'e') {
+            if (++i == l) {
+                return null;
+            }
+            boolean m = false;
+            c = v[i];
+            if (c == '-') {
+                i++;
+                m = true;
+            } else if (c == '+') {
+                i++;
+            }
+
+            int x = 0, e = 0;
+            while (i < l) {
+                c = v[i];
+                if (c < '0' || c > '9' || ++e > 9) {
+                    return null;
+                }
+                x = x * 10 + (c - '0');
+                i++;
+            }
+            if (e == 0) {
+                return null;
+            }
+            s -= m ? -x : x;
+        }
+
+        if (i != l) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(
+            neg ? -w : w, s
+        );
+    }
+}
@@ -16,8 +16,10 @@
 package plus.kat.chain;
 
 import plus.kat.lang.Binary;
+import plus.kat.lang.KatCache;
 
 import static plus.kat.lang.Uniform.*;
+import static plus.kat.lang.KatCache.*;
 
 /**
  * @author kraity
@@ -359,6 +361,14 @@ public class Space extends Binary {
         );
     }
 
+    /**
+     * Returns the value of this {@link Space} as a
+     * {@link String} shared through {@link KatCache#KEYS}
+     */
+    public String toKey() {
+        return KEYS.apply(this);
+    }
+
     /**
      * Returns the value of this
      * {@link Space} as a {@link String}
@@ -15,6 +15,8 @@
  */
 package plus.kat.chain;
 
+import java.math.BigDecimal;
+
 /**
  * @author kraity
  * @since 0.0.1
@@ -402,6 +404,20 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Integer toInt(Integer def) {
+        if (isNull()) {
+            return def;
+        }
+        return toInt(0);
+    }
+
+    /**
+     * Converts this {@link Value}
+     * as a signed decimal {@code int}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public int toInt(int def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -721,6 +737,20 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Long toLong(Long def) {
+        if (isNull()) {
+            return def;
+        }
+        return toLong(0L);
+    }
+
+    /**
+     * Converts this {@link Value}
+     * as a signed decimal {@code long}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public long toLong(long def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -924,14 +954,9 @@ public class Value extends Space {
      *
      * @throws NumberFormatException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public float toFloat() {
         if (isNumber()) {
-            return Float.parseFloat(
-                new String(
-                    value, 0, 0, size
-                )
-            );
+            return parseFloat(size);
         }
 
         throw new NumberFormatException(
@@ -946,8 +971,20 @@ public class Value extends Space {
      * @param def the specified value
      * @throws IllegalArgumentException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public Float toFloat(Float def) {
+        if (isNull()) {
+            return def;
+        }
+        return toFloat(0F);
+    }
+
+    /**
+     * Converts this value as a {@code float}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public float toFloat(float def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -1034,11 +1071,7 @@ public class Value extends Space {
                 }
             }
 
-            return Float.parseFloat(
-                new String(
-                    v, 0, 0, l
-                )
-            );
+            return parseFloat(l);
         }
 
         throw new IllegalArgumentException(
@@ -1052,14 +1085,9 @@ public class Value extends Space {
      *
      * @throws NumberFormatException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public double toDouble() {
         if (isNumber()) {
-            return Double.parseDouble(
-                new String(
-                    value, 0, 0, size
-                )
-            );
+            return parseDouble(size);
         }
 
         throw new NumberFormatException(
@@ -1074,8 +1102,20 @@ public class Value extends Space {
      * @param def the specified value
      * @throws IllegalArgumentException If parsing fails
      */
-    @SuppressWarnings("deprecation")
     public Double toDouble(Double def) {
+        if (isNull()) {
+            return def;
+        }
+        return toDouble(0D);
+    }
+
+    /**
+     * Converts this value as a {@code double}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public double toDouble(double def) {
         int l = size;
         if (l == 0) {
             return def;
@@ -1162,11 +1202,7 @@ public class Value extends Space {
                 }
             }
 
-            return Double.parseDouble(
-                new String(
-                    v, 0, 0, l
-                )
-            );
+            return parseDouble(l);
         }
 
         throw new IllegalArgumentException(
@@ -1180,7 +1216,6 @@ public class Value extends Space {
      *
      * @param def the specified value
      */
-    @SuppressWarnings("deprecation")
     public Number toNumber(Number def) {
         int l = size;
         if (l == 0) {
@@ -1346,11 +1381,7 @@ public class Value extends Space {
                                     if (i != l) {
                                         break stage;
                                     }
-                                    return Float.parseFloat(
-                                        new String(
-                                            v, 0, 0, l
-                                        )
-                                    );
+                                    return parseFloat(l - 1);
                                 }
                             }
                         }
@@ -1362,10 +1393,8 @@ public class Value extends Space {
                                 e ? n : -n
                             );
                         } else {
-                            return Double.parseDouble(
-                                new String(
-                                    v, 0, 0, l
-                                )
+                            return parseDouble(
+                                (v[l - 1] | 0x20) == 'd' ? l - 1 : l
                             );
                         }
                     }
@@ -1407,6 +1436,84 @@ public class Value extends Space {
         return def;
     }
 
+    /**
+     * Parses this {@link Value} as a {@link BigDecimal}
+     *
+     * @throws NumberFormatException If parsing fails
+     */
+    public BigDecimal toBigDecimal() {
+        BigDecimal num = Decimal.toBigDecimal(
+            value, size
+        );
+        return num != null ? num : new BigDecimal(
+            toLatin()
+        );
+    }
+
+    /**
+     * Parses the specified length of this value as a float
+     * without allocation, or by the JDK if the fast path fails
+     *
+     * @param l the specified length, excluding any suffix
+     * @throws NumberFormatException If parsing fails
+     */
+    @SuppressWarnings("deprecation")
+    private float parseFloat(int l) {
+        double num = Decimal.parse(
+            value, l, true
+        );
+        if (num == num) {
+            return (float) num;
+        }
+        return Float.parseFloat(
+            new String(
+                value, 0, 0, size
+            )
+        );
+    }
+
+    /**
+     * Parses the specified length of this value as a double
+     * without allocation, or by the JDK if the fast path fails
+     *
+     * @param l the specified length, excluding any suffix
+     * @throws NumberFormatException If parsing fails
+     */
+    @SuppressWarnings("deprecation")
+    private double parseDouble(int l) {
+        double num = Decimal.parse(
+            value, l, false
+        );
+        if (num == num) {
+            return num;
+        }
+        return Double.parseDouble(
+            new String(
+                value, 0, 0, size
+            )
+        );
+    }
+
+    /**
+     * Returns {@code true} if this value
+     * is empty or literally `null`
+     */
+    private boolean isNull() {
+        int l = size;
+        if (l == 0) {
+            return true;
+        }
+
+        if (l == 4) {
+            byte[] v = value;
+            return v[0] == 0x6E &&
+                v[1] == 0x75 &&
+                v[2] == 0x6C &&
+                v[3] == 0x6C;
+        }
+        return false;
+    }
+
     /**
      * Parses this {@link Value} as a {@link Boolean}
      *
@@ -1577,6 +1684,19 @@ public class Value extends Space {
      * @throws IllegalArgumentException If parsing fails
      */
     public Boolean toBoolean(Boolean def) {
+        if (isNull()) {
+            return def;
+        }
+        return toBoolean(false);
+    }
+
+    /**
+     * Converts this value as a {@code boolean}
+     *
+     * @param def the specified value
+     * @throws IllegalArgumentException If parsing fails
+     */
+    public boolean toBoolean(boolean def) {
         int l = size;
         if (l == 0) {
             return def;
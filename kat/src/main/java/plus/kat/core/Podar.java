@@ -614,71 +614,95 @@ public class Podar implements Solver {
                     break Scope;
                 }
                 case '"': {
-                    while (true) {
-                        w = u.next();
-                        if (w == '"') {
-                            continue Scope;
-                        }
-                    }
+                    seek(u, w);
+                    continue;
                 }
             }
         }
 
         Scope:
         while (true) {
-            byte w = u.next();
-            if (w == '<') {
-                switch (u.next()) {
-                    default: {
-                        while (true) {
-                            w = u.next();
-                            if (w != '>') {
-                                continue;
-                            }
-                            i++;
-                            continue Scope;
+            seek(u, LT);
+            switch (u.next()) {
+                default: {
+                    byte w, p = 0;
+                    while (true) {
+                        w = u.i < u.l ?
+                            u.v[u.i++] : u.next();
+                        if (w == '>') {
+                            break;
                         }
-                    }
-                    case '/': {
-                        while (true) {
-                            w = u.next();
-                            if (w != '>') {
-                                continue;
-                            }
-                            if ((--i) == 0) {
-                                return;
-                            } else {
-                                continue Scope;
-                            }
+                        if (w == '"') {
+                            seek(u, w);
                         }
+                        p = w;
                     }
-                    case '!': {
-                        w = u.next();
-                        switch (w) {
-                            case '[': {
-                                w = ']';
-                            }
-                            case '-': {
-                                while (true) {
-                                    if (u.next() != w) {
-                                        continue;
-                                    }
-                                    if (u.next() != w) {
-                                        continue;
-                                    }
-                                    if (u.next() == '>') {
-                                        continue Scope;
-                                    }
+                    if (p != '/') {
+                        i++;
+                    }
+                    continue;
+                }
+                case '/': {
+                    seek(u, GT);
+                    if ((--i) == 0) {
+                        return;
+                    } else {
+                        continue;
+                    }
+                }
+                case '!': {
+                    byte w = u.next();
+                    switch (w) {
+                        case '[': {
+                            w = ']';
+                        }
+                        case '-': {
+                            while (true) {
+                                seek(u, w);
+                                if (u.next() != w) {
+                                    continue;
+                                }
+                                if (u.next() == '>') {
+                                    continue Scope;
                                 }
                             }
                         }
-                        throw new IOException();
                     }
+                    throw new IOException();
                 }
             }
         }
     }
 
+    /**
+     * Moves the specified flow to the byte
+     * right after the next occurrence of the specified byte
+     *
+     * @throws IOException If no such byte is found
+     */
+    protected static void seek(
+        @NotNull Flow u,
+        @NotNull byte b
+    ) throws IOException {
+        while (true) {
+            int j = Swar.find(
+                u.v, u.i, u.l, b
+            );
+            if (j < u.l) {
+                u.i = j + 1;
+                return;
+            }
+
+            u.i = j;
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
+            }
+        }
+    }
+
     /**
      * Clean up this {@link Podar}
      */
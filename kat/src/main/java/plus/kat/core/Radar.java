@@ -223,31 +223,37 @@ public class Radar implements Solver {
                         switch (i) {
                             case 0x20: {
                                 i = 0x60;
-                                continue;
+                                break;
                             }
                             case 0x21: {
                                 i = 0x01;
-                                continue;
+                                break;
                             }
                             case 0x40:
                             case 0x41:
                             case 0x60:
                             case 0x81: {
-                                continue;
+                                break;
                             }
                             case 0x00: {
                                 if (x != 0) i = 0x40;
-                                continue;
+                                break;
                             }
                             case 0x01: {
                                 if (z != 0) i = 0x41;
-                                continue;
+                                break;
+                            }
+                            default: {
+                                throw new IOException(
+                                    "Symbol: `" + w + "`, iv: "
+                                        + Integer.toBinaryString(i)
+                                );
                             }
                         }
-                        throw new IOException(
-                            "Symbol: `" + w + "`, iv: "
-                                + Integer.toBinaryString(i)
+                        u.i = Swar.skip(
+                            u.v, u.i, u.l
                         );
+                        continue;
                     }
                     case 0x22:
                     case 0x27: {
@@ -309,62 +315,52 @@ public class Radar implements Solver {
                         Scope:
                         while (true) {
                             if (it != 0x5C) {
-                                int j = u.i,
-                                    l = j,
+                                int l = u.i,
                                     k = u.l;
                                 byte[] e = u.v;
-                                while (true) {
-                                    if (j < k) {
-                                        w = e[j];
-                                        if (w != it &&
-                                            w != 0x5C) {
-                                            j++;
-                                            continue;
-                                        }
-                                    }
-
-                                    if (l < j) {
-                                        System.arraycopy(
-                                            e, l, g,
-                                            o, j - l
-                                        );
-                                        o = j - l + o;
-                                    }
+                                int j = Swar.seek(
+                                    e, l, k, it
+                                );
 
-                                    if (j < k) {
-                                        u.i = j + 1;
-                                        if (w == 0x5C) {
-                                            break;
-                                        } else {
-                                            switch (i) {
-                                                case 0x00: {
-                                                    x = o;
-                                                    i = 0x40;
-                                                    break;
-                                                }
-                                                case 0x01: {
-                                                    n.onNext(
-                                                        a.slip(x),
-                                                        s.slip(y, w),
-                                                        v.slip(o, w)
-                                                    );
-                                                    i = 0x81;
-                                                    x = y = 0;
-                                                    break;
-                                                }
-                                            }
-                                            continue Radar;
-                                        }
-                                    }
+                                if (l < j) {
+                                    System.arraycopy(
+                                        e, l, g,
+                                        o, j - l
+                                    );
+                                    o = j - l + o;
+                                }
 
+                                if (j == k) {
                                     if (u.load() > 0) {
-                                        continue Scope;
+                                        continue;
                                     }
                                     throw new IOException(
                                         "No more readable bytes, please " +
                                             "check whether this flow is damaged"
                                     );
                                 }
+
+                                u.i = j + 1;
+                                if (e[j] != 0x5C) {
+                                    switch (i) {
+                                        case 0x00: {
+                                            x = o;
+                                            i = 0x40;
+                                            break;
+                                        }
+                                        case 0x01: {
+                                            n.onNext(
+                                                a.slip(x),
+                                                s.slip(y, it),
+                                                v.slip(o, it)
+                                            );
+                                            i = 0x81;
+                                            x = y = 0;
+                                            break;
+                                        }
+                                    }
+                                    continue Radar;
+                                }
                             }
 
                             while (true) {
@@ -664,56 +660,87 @@ public class Radar implements Solver {
         @NotNull byte w
     ) throws IOException {
         int m = w >> 5 ^ 3 | 2;
-        Scope:
+        int d = 0, q = 0;
         while (true) {
-            w = u.i < u.l ?
-                u.v[u.i++] : u.next();
-            switch (w) {
-                case 0x7B:
-                case 0x5B: {
-                    if ((m <<= 1) > 0) {
-                        m |= w >> 5 ^ 3;
-                        continue;
+            int j = u.i + d,
+                k = u.l;
+            byte[] e = u.v;
+            while (j < k) {
+                if (q == 0x23) {
+                    switch (e[j++]) {
+                        case 0x0A:
+                        case 0x0D:
+                        case 0x23: {
+                            q = 0;
+                        }
                     }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
+                    continue;
                 }
-                case 0x23: {
-                    while (true) {
-                        switch (u.next()) {
-                            case 0x0A:
-                            case 0x0D:
-                            case 0x23: {
-                                continue Scope;
-                            }
+
+                if (q != 0) {
+                    j = Swar.seek(
+                        e, j, k, (byte) q
+                    );
+                    if (j < k) {
+                        if (e[j] == 0x5C) {
+                            j += 2;
+                        } else {
+                            j++;
+                            q = 0;
                         }
                     }
+                    continue;
                 }
-                case 0x22: {
-                    while (true) {
-                        switch (u.next()) {
-                            case 0x5C: {
-                                u.next();
+
+                j = Swar.scan(e, j, k);
+                if (j == k) {
+                    break;
+                }
+
+                switch (w = e[j++]) {
+                    case 0x7B:
+                    case 0x5B: {
+                        if ((m <<= 1) > 0) {
+                            m |= w >> 5 ^ 3;
+                            continue;
+                        }
+                        throw new IOException(
+                            Integer.toBinaryString(m)
+                        );
+                    }
+                    case 0x5C: {
+                        j++;
+                        continue;
+                    }
+                    case 0x22:
+                    case 0x23:
+                    case 0x27: {
+                        q = w;
+                        continue;
+                    }
+                    case 0x5D:
+                    case 0x7D: {
+                        if ((m & 1 | 2) != w >> 5) {
+                            if ((m >>= 1) != 1) {
                                 continue;
                             }
-                            case 0x22: {
-                                continue Scope;
-                            }
+                            u.i = j;
+                            return;
                         }
+                        throw new IOException(
+                            Integer.toBinaryString(m)
+                        );
                     }
                 }
-                case 0x5D:
-                case 0x7D: {
-                    if ((m & 1 | 2) != w >> 5) {
-                        if ((m >>= 1) != 1) {
-                            continue;
-                        } else break Scope;
-                    }
-                    throw new IOException(
-                        Integer.toBinaryString(m)
-                    );
-                }
+            }
+
+            d = j - k;
+            u.i = k;
+            if (u.load() <= 0) {
+                throw new IOException(
+                    "No more readable bytes, please " +
+                        "check whether this flow is damaged"
+                );
             }
         }
     }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.core;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Scans the buffer of a flow eight bytes at a time,
+ * reading each word through a little-endian view of the array
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Swar {
+
+    static final long ONES = 0x0101010101010101L;
+    static final long HIGH = 0x8080808080808080L;
+    static final long BLANK = 0x2020202020202020L;
+    static final long SLASH = 0x5C5C5C5C5C5C5C5CL;
+    static final long LOWER = 0x2020202020202020L;
+    static final long EVENS = 0xFEFEFEFEFEFEFEFEL;
+    static final long BRACE = 0x7B7B7B7B7B7B7B7BL;
+    static final long QUOTE = 0x2222222222222222L;
+    static final long APOST = 0x2626262626262626L;
+    static final long SLOPE = 0x7C7C7C7C7C7C7C7CL;
+
+    /**
+     * Returns the index of the first quote or backslash
+     * in the specified range, or the end if neither is found
+     *
+     * @param v     the specified buffer
+     * @param i     the specified start index, inclusive
+     * @param l     the specified end index, exclusive
+     * @param quote the specified quote
+     */
+    static int seek(
+        byte[] v, int i, int l, byte quote
+    ) {
+        if (i + 8 <= l) {
+            ByteBuffer buf = ByteBuffer
+                .wrap(v).order(LITTLE_ENDIAN);
+            long q = ONES * (quote & 0xFF);
+            do {
+                long w = buf.getLong(i),
+                    a = w ^ q, b = w ^ SLASH;
+                long t = ((a - ONES) & ~a |
+                    (b - ONES) & ~b) & HIGH;
+                if (t != 0) {
+                    return i + (Long
+                        .numberOfTrailingZeros(t) >>> 3);
+                }
+                i += 8;
+            } while (i + 8 <= l);
+        }
+
+        while (i < l) {
+            byte w = v[i];
+            if (w == quote ||
+                w == 0x5C) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified
+     * byte in the specified range, or the end if it is not found
+     *
+     * @param v the specified buffer
+     * @param i the specified start index, inclusive
+     * @param l the specified end index, exclusive
+     * @param b the specified byte to be found
+     */
+    static int find(
+        byte[] v, int i, int l, byte b
+    ) {
+        if (i + 8 <= l) {
+            ByteBuffer buf = ByteBuffer
+                .wrap(v).order(LITTLE_ENDIAN);
+            long q = ONES * (b & 0xFF);
+            do {
+                long w = buf.getLong(i) ^ q;
+                long t = (w - ONES) & ~w & HIGH;
+                if (t != 0) {
+                    return i + (Long
+                        .numberOfTrailingZeros(t) >>> 3);
+                }
+                i += 8;
+            } while (i + 8 <= l);
+        }
+
+        while (i < l) {
+            if (v[i] == b) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the first byte in the specified range
+     * that may be a bracket, a quote, a backslash or a {@code #},
+     * or the end if none is found. The search folds case and the
+     * lowest bit, so a few other bytes such as {@code |} and
+     * {@code &} are also returned and are left to the caller
+     *
+     * @param v the specified buffer
+     * @param i the specified start index, inclusive
+     * @param l the specified end index, exclusive
+     */
+    static int scan(
+        byte[] v, int i, int l
+    ) {
+        if (i + 8 <= l) {
+            ByteBuffer buf = ByteBuffer
+                .wrap(v).order(LITTLE_ENDIAN);
+            do {
+                long y = buf.getLong(i) | LOWER,
+                    z = y & EVENS;
+                long a = y ^ BRACE,
+                    b = z ^ QUOTE,
+                    c = z ^ APOST,
+                    d = z ^ SLOPE;
+                long t = ((a - ONES) & ~a |
+                    (b - ONES) & ~b |
+                    (c - ONES) & ~c |
+                    (d - ONES) & ~d) & HIGH;
+                if (t != 0) {
+                    return i + (Long
+                        .numberOfTrailingZeros(t) >>> 3);
+                }
+                i += 8;
+            } while (i + 8 <= l);
+        }
+
+        while (i < l) {
+            switch (v[i]) {
+                case 0x22:
+                case 0x23:
+                case 0x27:
+                case 0x5B:
+                case 0x5C:
+                case 0x5D:
+                case 0x7B:
+                case 0x7D: {
+                    return i;
+                }
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the first byte in the specified
+     * range that is not a whitespace, or the end if all are
+     *
+     * @param v the specified buffer
+     * @param i the specified start index, inclusive
+     * @param l the specified end index, exclusive
+     */
+    static int skip(
+        byte[] v, int i, int l
+    ) {
+        if (i + 8 <= l) {
+            ByteBuffer buf = ByteBuffer
+                .wrap(v).order(LITTLE_ENDIAN);
+            while (i + 8 <= l &&
+                buf.getLong(i) == BLANK) {
+                i += 8;
+            }
+        }
+
+        while (i < l) {
+            switch (v[i]) {
+                case 0x09:
+                case 0x0A:
+                case 0x0D:
+                case 0x20: {
+                    i++;
+                    continue;
+                }
+            }
+            break;
+        }
+        return i;
+    }
+}
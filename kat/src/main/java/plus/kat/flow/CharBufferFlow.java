@@ -55,10 +55,21 @@ public final class CharBufferFlow extends TransferFlow {
             return l = -1;
         }
 
-        if (temp == null) {
+        if (v == null) {
             v = BUCKET.apply(
                 null, 0, 2048
             );
+        }
+
+        if (flow.hasArray()) {
+            int o = flow.arrayOffset();
+            flow.position(
+                fill(flow.array(), o + n, o + m) - o
+            );
+            return l;
+        }
+
+        if (temp == null) {
             temp = new char[256];
         }
 
@@ -66,6 +77,11 @@ public final class CharBufferFlow extends TransferFlow {
             size = temp.length;
         }
         flow.get(temp, 0, size);
+        if (size > 1 && m != n + size &&
+            Character.isHighSurrogate(temp[size - 1])) {
+            // keep the pair together
+            flow.position(n + --size);
+        }
         return load(temp, 0, 0, size);
     }
 
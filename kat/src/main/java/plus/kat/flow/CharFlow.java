@@ -83,12 +83,10 @@ public final class CharFlow extends TransferFlow {
             );
         }
 
-        int cap = v.length / 3;
-        if (size > cap) size = cap;
-
-        return load(
-            flow, 0, left, left += size
+        left = fill(
+            flow, left, right
         );
+        return l;
     }
 
     @Override
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import static plus.kat.flow.Stream.*;
+import static plus.kat.lang.Uniform.*;
 
 /**
  * @author kraity
@@ -57,27 +58,42 @@ public final class InputStreamFlow extends Flow {
     @Override
     public int load()
         throws IOException {
-        int size;
-        if (v != null) {
-            size = flow.read(v);
+        byte[] it = v;
+        if (it != null) {
+            int n = it.length;
+            if (n == l) {
+                // the last read filled the window,
+                // so the stream keeps up with a larger one,
+                // up to the largest pool size within the capacity
+                int m = Math.min(
+                    Math.max(n << 1, FLOW_INITIAL), FLOW_CAPACITY - 1
+                );
+                if (n < m) {
+                    v = it = BUCKET.apply(
+                        it, 0, m
+                    );
+                }
+            }
         } else {
             int m = flow.available();
             if (m < 1 || m > 1023) {
-                size = flow.read(
-                    v = BUCKET.apply(
-                        null, 0, 2048
-                    )
+                v = it = BUCKET.apply(
+                    null, 0, 2048
                 );
             } else if (m > 511) {
-                size = flow.read(
-                    v = new byte[256]
-                );
+                v = it = new byte[FLOW_INITIAL];
             } else {
-                size = flow.read(
-                    v = new byte[Math.min(256, m)]
-                );
+                v = it = new byte[Math.min(FLOW_INITIAL, m)];
             }
         }
+
+        // the pooled array may be longer than
+        // the capacity, never read beyond it
+        int size = flow.read(
+            it, 0, Math.min(
+                it.length, FLOW_CAPACITY
+            )
+        );
         if (size > 0) {
             i = 0;
         }
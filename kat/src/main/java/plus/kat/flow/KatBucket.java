@@ -0,0 +1,246 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import java.util.concurrent.atomic.*;
+
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A bucket of byte arrays in power-of-two size classes,
+ * the tier {@code t} holds the arrays of length {@code (scale << t) - 1}
+ * <p>
+ * The first two tiers are striped by thread like the buffers of the
+ * parsers, the larger tiers are shared by all threads, hold a limited
+ * number of arrays each and together stay within a global byte budget
+ *
+ * <pre>{@code
+ *  KatBucket bucket = (KatBucket) Stream.BUCKET;
+ *  for (int t = 0; t < bucket.tiers(); t++) {
+ *      long hits = bucket.hits(t);
+ *      long misses = bucket.misses(t);
+ *  }
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+@SuppressWarnings("unchecked")
+public class KatBucket implements Stream.Bucket {
+
+    private final int shift;
+    private final int scale;
+    private final int limit;
+    private final int budget;
+
+    private final AtomicInteger pooled;
+    private final LongAdder[] hits, misses;
+    private final KatBuffer.Group<byte[]>[] table;
+
+    /**
+     * Constructs a bucket with the specified arguments
+     *
+     * @param group  the specified number of stripes of the first two tiers
+     * @param scale  the specified length plus one of the smallest arrays
+     * @param limit  the specified length plus one of the largest pooled arrays
+     * @param budget the specified maximum bytes held by the shared tiers
+     * @throws IllegalArgumentException If the scale or limit is not a power of 2
+     */
+    public KatBucket(
+        int group, int scale, int limit, int budget
+    ) {
+        if (scale < 2 || (scale & (scale - 1)) != 0) {
+            throw new IllegalArgumentException(
+                "Received scale(" + scale + ") is not a power of two"
+            );
+        }
+        if (limit < scale || (limit & (limit - 1)) != 0) {
+            throw new IllegalArgumentException(
+                "Received limit(" + limit + ") is not a power of two not less than " + scale
+            );
+        }
+
+        this.scale = scale;
+        this.limit = limit;
+        this.budget = budget;
+        this.shift = Integer.numberOfTrailingZeros(scale);
+
+        int size = Integer.numberOfTrailingZeros(limit) - shift + 1;
+        hits = new LongAdder[size];
+        misses = new LongAdder[size];
+        table = new KatBuffer.Group[size];
+        pooled = new AtomicInteger();
+
+        for (int t = 0; t < size; t++) {
+            hits[t] = new LongAdder();
+            misses[t] = new LongAdder();
+            if (t < 2) {
+                table[t] = KatBuffer.group(group);
+            } else {
+                // the larger the arrays, the fewer of them
+                KatBuffer<byte[]> buffer = new KatBuffer<>(
+                    Math.max(1, 8 >> (t - 2))
+                );
+                table[t] = () -> buffer;
+            }
+        }
+    }
+
+    /**
+     * Returns the tier of the specified length,
+     * or {@code -1} if it is not a pooled length
+     */
+    private int tierOf(
+        int length
+    ) {
+        int n = length + 1;
+        if ((n & (n - 1)) == 0 &&
+            n >= scale && n <= limit) {
+            return Integer.numberOfTrailingZeros(n) - shift;
+        }
+        return -1;
+    }
+
+    @Override
+    public byte[] store(byte[] flow) {
+        if (flow != null) {
+            int t = tierOf(flow.length);
+            if (t >= 0) {
+                if (t < 2) {
+                    if (table[t].current().resume(flow)) {
+                        return EMPTY_BYTES;
+                    }
+                } else {
+                    int n = flow.length;
+                    if (reserve(n)) {
+                        if (table[t].current().resume(flow)) {
+                            return EMPTY_BYTES;
+                        }
+                        pooled.addAndGet(-n);
+                    }
+                }
+            }
+        }
+        return flow;
+    }
+
+    @Override
+    public byte[] apply(byte[] flow, int size, int capacity) {
+        int t = 32 - Integer.numberOfLeadingZeros(
+            capacity >>> shift
+        );
+
+        byte[] data;
+        if (t < table.length) {
+            data = table[t].current().borrow();
+            if (data != null) {
+                hits[t].increment();
+                if (t > 1) {
+                    pooled.addAndGet(-data.length);
+                }
+            } else {
+                misses[t].increment();
+                data = new byte[(scale << t) - 1];
+            }
+        } else {
+            long n = ((long) scale << t) - 1;
+            data = new byte[n < Integer.MAX_VALUE - 8 ? (int) n : capacity];
+        }
+
+        if (flow != null && flow.length != 0) {
+            System.arraycopy(
+                flow, 0, data, 0, size
+            );
+            store(flow);
+        }
+
+        return data;
+    }
+
+    /**
+     * Reserves the specified bytes of the budget
+     */
+    private boolean reserve(
+        int size
+    ) {
+        AtomicInteger count = pooled;
+        while (true) {
+            int used = count.get();
+            if (used > budget - size) {
+                return false;
+            }
+            if (count.compareAndSet(used, used + size)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tiers
+     */
+    public int tiers() {
+        return table.length;
+    }
+
+    /**
+     * Returns the length of the arrays of the specified tier
+     *
+     * @param tier the specified tier
+     * @throws IndexOutOfBoundsException If the tier is out of range
+     */
+    public int lengthOf(int tier) {
+        if (tier >= 0 && tier < table.length) {
+            return (scale << tier) - 1;
+        }
+        throw new IndexOutOfBoundsException(
+            "Received tier(" + tier + ") is out of range"
+        );
+    }
+
+    /**
+     * Returns the number of borrows served by the specified tier
+     *
+     * @param tier the specified tier
+     * @throws IndexOutOfBoundsException If the tier is out of range
+     */
+    public long hits(int tier) {
+        return hits[tier].sum();
+    }
+
+    /**
+     * Returns the number of borrows allocated anew by the specified tier
+     *
+     * @param tier the specified tier
+     * @throws IndexOutOfBoundsException If the tier is out of range
+     */
+    public long misses(int tier) {
+        return misses[tier].sum();
+    }
+
+    /**
+     * Returns the bytes currently held by the shared tiers
+     */
+    public int pooled() {
+        return pooled.get();
+    }
+
+    /**
+     * Returns the maximum bytes held by the shared tiers
+     */
+    public int budget() {
+        return budget;
+    }
+}
@@ -15,9 +15,15 @@
  */
 package plus.kat.flow;
 
+import java.lang.invoke.*;
 import java.util.concurrent.atomic.*;
 
+import static plus.kat.lang.Uniform.*;
+
 /**
+ * A lock-free buffer of beans, the top slot is an
+ * {@link AtomicReference}, the overflow slots are claimed by CAS
+ *
  * @author kraity
  * @since 0.0.6
  */
@@ -25,14 +31,13 @@ import java.util.concurrent.atomic.*;
 public class KatBuffer<Bean>
     extends AtomicReference<Bean> {
 
-    private int size;
-    private Object[] table;
+    private final AtomicReferenceArray<Object> table;
 
     /**
      * Constructs an empty buffer
      */
     public KatBuffer() {
-        // Nothing
+        table = new AtomicReferenceArray<>(8);
     }
 
     /**
@@ -42,7 +47,7 @@ public class KatBuffer<Bean>
      */
     public KatBuffer(int size) {
         if (size > 0) {
-            table = new Object[size];
+            table = new AtomicReferenceArray<>(size);
         } else {
             throw new IllegalArgumentException(
                 "Received " + size + " is less than 1"
@@ -55,15 +60,13 @@ public class KatBuffer<Bean>
      * or returns {@code null} if the table is empty
      */
     public Bean acquire() {
-        synchronized (this) {
-            Object bean;
-            Object[] zone = table;
-            while (size != 0) {
-                bean = zone[--size];
-                if (bean != null) {
-                    zone[size] = null;
-                    return (Bean) bean;
-                }
+        Object bean;
+        AtomicReferenceArray<Object> zone = table;
+        for (int i = zone.length() - 1; i >= 0; i--) {
+            bean = zone.get(i);
+            if (bean != null &&
+                zone.compareAndSet(i, bean, null)) {
+                return (Bean) bean;
             }
         }
         return null;
@@ -76,15 +79,10 @@ public class KatBuffer<Bean>
      * @param bean the specified bean to release
      */
     public boolean release(Bean bean) {
-        synchronized (this) {
-            Object[] zone = table;
-            if (zone == null) {
-                table = zone =
-                    new Object[8];
-            }
-
-            if (size < zone.length) {
-                zone[size++] = bean;
+        AtomicReferenceArray<Object> zone = table;
+        for (int i = 0, l = zone.length(); i < l; i++) {
+            if (zone.get(i) == null &&
+                zone.compareAndSet(i, null, bean)) {
                 return true;
             }
         }
@@ -113,11 +111,144 @@ public class KatBuffer<Bean>
      */
     public void close() {
         lazySet(null);
-        synchronized (this) {
-            Object[] zone = table;
-            while (size != 0) {
-                zone[--size] = null;
+        AtomicReferenceArray<Object> zone = table;
+        for (int i = 0, l = zone.length(); i < l; i++) {
+            zone.lazySet(i, null);
+        }
+    }
+
+    /**
+     * Returns a group of buffers shared by threads, the mode is
+     * specified by {@code katplus.buffer.mode}, either {@code striped}
+     * or {@code local}, the default is {@code striped}
+     *
+     * @param size the specified number of stripes, must be a power of 2
+     * @throws IllegalArgumentException if the size is not a power of 2
+     */
+    public static <Bean> Group<Bean> group(
+        int size
+    ) {
+        if ("local".equals(BUFFER_MODE)) {
+            return new Local<>(size);
+        }
+        return new Striped<>(size);
+    }
+
+    private static final MethodHandle VIRTUAL;
+
+    static {
+        MethodHandle handle = null;
+        try {
+            handle = MethodHandles.publicLookup().findVirtual(
+                Thread.class, "isVirtual", MethodType.methodType(boolean.class)
+            );
+        } catch (Throwable e) {
+            // Before JDK 21
+        }
+        VIRTUAL = handle;
+    }
+
+    /**
+     * Returns true if the specified thread is
+     * a virtual thread, always false before JDK 21
+     *
+     * @param thread the specified thread to check
+     */
+    public static boolean isVirtual(
+        Thread thread
+    ) {
+        MethodHandle handle = VIRTUAL;
+        if (handle != null) {
+            try {
+                return (boolean) handle.invokeExact(thread);
+            } catch (Throwable e) {
+                // Nothing
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    public interface Group<Bean> {
+        /**
+         * Returns the buffer assigned to the current thread
+         */
+        KatBuffer<Bean> current();
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    public static class Local<Bean>
+        extends ThreadLocal<KatBuffer<Bean>> implements Group<Bean> {
+
+        private final Striped<Bean> shared;
+
+        /**
+         * Constructs a thread-local group, the virtual threads
+         * share the stripes of the specified size instead, so that
+         * each of them does not hold a buffer of its own
+         *
+         * @param size the specified number of stripes, must be a power of 2
+         * @throws IllegalArgumentException if the size is not a power of 2
+         */
+        public Local(
+            int size
+        ) {
+            shared = new Striped<>(size);
+        }
+
+        @Override
+        protected KatBuffer<Bean> initialValue() {
+            return new KatBuffer<>(1);
+        }
+
+        @Override
+        public KatBuffer<Bean> current() {
+            Thread thread =
+                Thread.currentThread();
+            if (isVirtual(thread)) {
+                return shared.current();
+            }
+            return get();
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    public static class Striped<Bean> implements Group<Bean> {
+
+        private final int mask;
+        private final KatBuffer<Bean>[] table;
+
+        public Striped(
+            int size
+        ) {
+            if (size > 0 && (size & (mask = size - 1)) == 0) {
+                table = new KatBuffer[size];
+                do {
+                    table[--size] = new KatBuffer<>();
+                } while (size > 0);
+            } else {
+                throw new IllegalArgumentException(
+                    "Received " + size + " is not a power of two"
+                );
             }
         }
+
+        @Override
+        public KatBuffer<Bean> current() {
+            long id = Thread
+                .currentThread().getId();
+            return table[mask & (int) (
+                (id * 0x9E3779B97F4A7C15L) >>> 32
+            )];
+        }
     }
 }
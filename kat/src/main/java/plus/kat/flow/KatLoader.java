@@ -168,29 +168,7 @@ public final class KatLoader<T> implements Iterator<T>, Closeable {
         "unchecked", "deprecation"
     })
     private T build() throws Error {
-        int iv = left;
-        byte[] it = buffer;
-
-        int ix = iv, l = count;
-        for (; ix < l; ix++) {
-            if (it[ix] == LF) {
-                break;
-            }
-        }
-
-        String name;
-        if (ix > iv) {
-            size--;
-            left = ix + 1;
-            name = new String(
-                it, 0, iv, ix - iv
-            );
-        } else {
-            throw new IllegalAccessError(
-                "No more names: " + ix + " <= " + iv
-            );
-        }
-
+        String name = name();
         Class<?> child, parent = service;
         try {
             child = Class.forName(
@@ -217,6 +195,51 @@ public final class KatLoader<T> implements Iterator<T>, Closeable {
         }
     }
 
+    /**
+     * Returns the next class name in the {@link KatLoader}
+     * without loading or constructing the class
+     *
+     * @throws LinkageError If the iteration has no more elements
+     */
+    public String nextName() {
+        if (size <= 0) {
+            throw new LinkageError(
+                "No more instances"
+            );
+        }
+        return name();
+    }
+
+    /**
+     * Reads the next class name from the buffer
+     *
+     * @throws IllegalAccessError If the buffer has no more names
+     */
+    @SuppressWarnings("deprecation")
+    private String name() {
+        int iv = left;
+        byte[] it = buffer;
+
+        int ix = iv, l = count;
+        for (; ix < l; ix++) {
+            if (it[ix] == LF) {
+                break;
+            }
+        }
+
+        if (ix > iv) {
+            size--;
+            left = ix + 1;
+            return new String(
+                it, 0, iv, ix - iv
+            );
+        } else {
+            throw new IllegalAccessError(
+                "No more names: " + ix + " <= " + iv
+            );
+        }
+    }
+
     /**
      * Reads the class name from the specified source
      *
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static plus.kat.flow.Stream.*;
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A flow of a file, the file is mapped in large windows
+ * and each window is copied into {@link #v} by memory copies,
+ * so reading it doesn't cost a system call per buffer
+ *
+ * <pre>{@code
+ *  Path path = ...
+ *  User user = spare.parse(
+ *      new MappedFileFlow(path)
+ *  );
+ * }</pre>
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class MappedFileFlow extends Flow {
+    /**
+     * The default size of the mapped window
+     */
+    public static final int WINDOW = 1 << 26;
+
+    private Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private long offset;
+    private final int window;
+    private final boolean owner;
+
+    /**
+     * Constructs this flow for the specified file,
+     * the file is opened on the first load and closed with this flow
+     *
+     * @throws NullPointerException If the specified path is null
+     */
+    public MappedFileFlow(
+        @NotNull Path path
+    ) {
+        this(path, WINDOW);
+    }
+
+    /**
+     * Constructs this flow for the specified file and window size,
+     * the file is opened on the first load and closed with this flow
+     *
+     * @param path   the specified path of file
+     * @param window the specified size of each mapped window
+     * @throws NullPointerException     If the specified path is null
+     * @throws IllegalArgumentException If the specified window is not positive
+     */
+    public MappedFileFlow(
+        @NotNull Path path, int window
+    ) {
+        if (path == null) {
+            throw new NullPointerException();
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException(
+                "Received window(" + window + ") is not positive"
+            );
+        }
+        this.path = path;
+        this.owner = true;
+        this.window = window;
+    }
+
+    /**
+     * Constructs this flow for the specified channel where
+     * calling {@link FileChannel#close()} has no effect, the
+     * channel is read from its current position to its end
+     *
+     * @throws NullPointerException If the specified channel is null
+     * @throws IOException          If an I/O error occurs
+     */
+    public MappedFileFlow(
+        @NotNull FileChannel channel
+    ) throws IOException {
+        if (channel == null) {
+            throw new NullPointerException();
+        }
+        this.owner = false;
+        this.window = WINDOW;
+        this.channel = channel;
+        this.offset = channel.position();
+    }
+
+    @Override
+    public int load()
+        throws IOException {
+        MappedByteBuffer buf = buffer;
+        if (buf == null ||
+            !buf.hasRemaining()) {
+            FileChannel ch = channel;
+            if (ch == null) {
+                if (path == null) {
+                    return l = -1;
+                }
+                channel = ch = FileChannel.open(
+                    path, StandardOpenOption.READ
+                );
+            }
+
+            long size = ch.size() - offset;
+            if (size <= 0) {
+                buffer = null;
+                return l = -1;
+            }
+
+            buffer = buf = ch.map(
+                FileChannel.MapMode.READ_ONLY,
+                offset, Math.min(size, window)
+            );
+            offset += buf.remaining();
+
+            if (v == null) {
+                if (size > 1023) {
+                    // copy the window in chunks of the
+                    // largest pool size within the capacity
+                    v = BUCKET.apply(
+                        null, 0, (int) Math.min(
+                            size, FLOW_CAPACITY - 1
+                        )
+                    );
+                } else {
+                    v = new byte[(int) size];
+                }
+            }
+        }
+
+        int size = Math.min(
+            v.length, buf.remaining()
+        );
+        buf.get(
+            v, 0, size
+        );
+        i = 0;
+        return l = size;
+    }
+
+    @Override
+    public void close() {
+        BUCKET.store(v);
+        l = -1;
+        v = null;
+        path = null;
+        buffer = null;
+
+        FileChannel ch = channel;
+        if (ch != null) {
+            channel = null;
+            if (owner) {
+                try {
+                    ch.close();
+                } catch (IOException e) {
+                    // Nothing
+                }
+            }
+        }
+    }
+}
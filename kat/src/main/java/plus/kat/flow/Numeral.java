@@ -0,0 +1,619 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.flow;
+
+import java.math.BigInteger;
+
+/**
+ * Writes numbers as bytes straight into an array, the integers
+ * two digits at a time from a table of pairs, the floats and doubles
+ * as the shortest decimal that rounds back to the same value, by the
+ * Schubfach algorithm of Giulietti, in the format of
+ * {@link Double#toString(double)} and {@link Float#toString(float)}
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+final class Numeral {
+    /**
+     * The maximum length of a double and a float
+     */
+    static final int DOUBLE_SIZE = 24, FLOAT_SIZE = 15;
+
+    static final int K_MIN = -324, K_MAX = 292;
+
+    /**
+     * The 126-bit approximations of {@code 10^-k}
+     * split into two 63-bit halves, the high half first
+     */
+    static final long[] G = new long[
+        (K_MAX - K_MIN + 1) * 2
+        ];
+
+    static final long[] POW10 = new long[19];
+
+    static final byte[] PAIRS = new byte[200];
+
+    static {
+        long p = 1;
+        for (int i = 0; i < 19; i++) {
+            POW10[i] = p;
+            p *= 10;
+        }
+
+        for (int i = 0; i < 100; i++) {
+            PAIRS[i * 2] = (byte) ('0' + i / 10);
+            PAIRS[i * 2 + 1] = (byte) ('0' + i % 10);
+        }
+
+        BigInteger ten = BigInteger.TEN;
+        BigInteger mask = BigInteger.ONE
+            .shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger g;
+            if (k <= 0) {
+                g = ten.pow(-k);
+                g = r < 0 ? g.shiftLeft(-r) : g.shiftRight(r);
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(ten.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            int i = (k - K_MIN) << 1;
+            G[i] = g.shiftRight(63).longValue();
+            G[i + 1] = g.and(mask).longValue();
+        }
+    }
+
+    private Numeral() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the number of bytes of the specified int
+     */
+    static int sizeOf(int v) {
+        if (v < 0) {
+            if (v == Integer.MIN_VALUE) {
+                return 11;
+            }
+            return 1 + sizeOf(-v);
+        }
+        if (v < 10) {
+            return 1;
+        }
+        int t = (32 - Integer.numberOfLeadingZeros(v)) * 1233 >>> 12;
+        return v >= POW10[t] ? t + 1 : t;
+    }
+
+    /**
+     * Returns the number of bytes of the specified long
+     */
+    static int sizeOf(long v) {
+        if (v < 0) {
+            if (v == Long.MIN_VALUE) {
+                return 20;
+            }
+            return 1 + sizeOf(-v);
+        }
+        if (v < 10) {
+            return 1;
+        }
+        int t = (64 - Long.numberOfLeadingZeros(v)) * 1233 >>> 12;
+        return v >= POW10[t] ? t + 1 : t;
+    }
+
+    /**
+     * Writes the specified int backwards from the end index
+     *
+     * @param v   the specified number
+     * @param end the end index, exclusive
+     * @param b   the specified array
+     */
+    static void getBytes(
+        int v, int end, byte[] b
+    ) {
+        byte[] d = PAIRS;
+        boolean neg = v < 0;
+        if (!neg) {
+            v = -v;
+        }
+        while (v <= -100) {
+            int q = v / 100;
+            int r = (q * 100 - v) << 1;
+            v = q;
+            b[--end] = d[r + 1];
+            b[--end] = d[r];
+        }
+        if (v <= -10) {
+            int r = -v << 1;
+            b[--end] = d[r + 1];
+            b[--end] = d[r];
+        } else {
+            b[--end] = (byte) ('0' - v);
+        }
+        if (neg) {
+            b[end - 1] = '-';
+        }
+    }
+
+    /**
+     * Writes the specified long backwards from the end index
+     *
+     * @param v   the specified number
+     * @param end the end index, exclusive
+     * @param b   the specified array
+     */
+    static void getBytes(
+        long v, int end, byte[] b
+    ) {
+        byte[] d = PAIRS;
+        boolean neg = v < 0;
+        if (!neg) {
+            v = -v;
+        }
+        while (v < Integer.MIN_VALUE) {
+            long q = v / 100;
+            int r = (int) (q * 100 - v) << 1;
+            v = q;
+            b[--end] = d[r + 1];
+            b[--end] = d[r];
+        }
+        int i = (int) v;
+        while (i <= -100) {
+            int q = i / 100;
+            int r = (q * 100 - i) << 1;
+            i = q;
+            b[--end] = d[r + 1];
+            b[--end] = d[r];
+        }
+        if (i <= -10) {
+            int r = -i << 1;
+            b[--end] = d[r + 1];
+            b[--end] = d[r];
+        } else {
+            b[--end] = (byte) ('0' - i);
+        }
+        if (neg) {
+            b[end - 1] = '-';
+        }
+    }
+
+    /**
+     * Writes the specified double at the index,
+     * requires {@link #DOUBLE_SIZE} bytes available
+     *
+     * @param v the specified number
+     * @param i the specified index
+     * @param b the specified array
+     * @return the end index of the bytes
+     */
+    static int getBytes(
+        double v, int i, byte[] b
+    ) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & 0xFFFFFFFFFFFFFL;
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        if (bq == 0x7FF) {
+            return special(
+                t != 0, bits < 0, i, b
+            );
+        }
+
+        if (bits < 0) {
+            b[i++] = '-';
+        }
+        if (bq != 0) {
+            int mq = 1075 - bq;
+            long c = (1L << 52) | t;
+            if (0 < mq && mq < 53) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, i, b);
+                }
+            }
+            return toDecimal(-mq, c, 0, i, b);
+        }
+        if (t != 0) {
+            return t < 3 ?
+                toDecimal(-1074, 10 * t, -1, i, b) :
+                toDecimal(-1074, t, 0, i, b);
+        }
+        b[i++] = '0';
+        b[i++] = '.';
+        b[i++] = '0';
+        return i;
+    }
+
+    /**
+     * Writes the specified float at the index,
+     * requires {@link #FLOAT_SIZE} bytes available
+     *
+     * @param v the specified number
+     * @param i the specified index
+     * @param b the specified array
+     * @return the end index of the bytes
+     */
+    static int getBytes(
+        float v, int i, byte[] b
+    ) {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & 0x7FFFFF;
+        int bq = (bits >>> 23) & 0xFF;
+        if (bq == 0xFF) {
+            return special(
+                t != 0, bits < 0, i, b
+            );
+        }
+
+        if (bits < 0) {
+            b[i++] = '-';
+        }
+        if (bq != 0) {
+            int mq = 150 - bq;
+            int c = (1 << 23) | t;
+            if (0 < mq && mq < 24) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, i, b);
+                }
+            }
+            return toDecimal(-mq, c, 0, i, b);
+        }
+        if (t != 0) {
+            return t < 8 ?
+                toDecimal(-149, 10 * t, -1, i, b) :
+                toDecimal(-149, t, 0, i, b);
+        }
+        b[i++] = '0';
+        b[i++] = '.';
+        b[i++] = '0';
+        return i;
+    }
+
+    private static int special(
+        boolean nan, boolean neg, int i, byte[] b
+    ) {
+        if (nan) {
+            b[i++] = 'N';
+            b[i++] = 'a';
+            b[i++] = 'N';
+            return i;
+        }
+        if (neg) {
+            b[i++] = '-';
+        }
+        b[i++] = 'I';
+        b[i++] = 'n';
+        b[i++] = 'f';
+        b[i++] = 'i';
+        b[i++] = 'n';
+        b[i++] = 'i';
+        b[i++] = 't';
+        b[i++] = 'y';
+        return i;
+    }
+
+    private static int toDecimal(
+        int q, long c, int dk, int i, byte[] b
+    ) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != 1L << 52 || q == -1074) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int x = (k - K_MIN) << 1;
+        long g1 = G[x], g0 = G[x + 1];
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, i, b);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, i, b);
+        }
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, i, b);
+    }
+
+    private static int toDecimal(
+        int q, int c, int dk, int i, byte[] b
+    ) {
+        int out = c & 1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != 1 << 23 || q == -149) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G[(k - K_MIN) << 1] + 1;
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1717986919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, i, b);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, i, b);
+        }
+        int cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, i, b);
+    }
+
+    private static long rop(
+        long g1, long g0, long cp
+    ) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & 0x7FFFFFFFFFFFFFFFL) + 0x7FFFFFFFFFFFFFFFL >>> 63;
+    }
+
+    private static int rop(
+        long g, long cp
+    ) {
+        long x1 = multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & 0xFFFFFFFFL) + 0xFFFFFFFFL >>> 32);
+    }
+
+    /**
+     * Writes {@code f * 10^e} of at most 17 digits
+     */
+    private static int toChars(
+        long f, int e, int i, byte[] b
+    ) {
+        int len = flog10pow2(64 - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len++;
+        }
+        f *= POW10[17 - len];
+        e += len;
+
+        long hm = multiplyHigh(f, 193428131138340668L) >>> 20;
+        int l = (int) (f - 100000000 * hm);
+        int h = (int) (hm * 1441151881L >>> 57);
+        int m = (int) (hm - 100000000 * h);
+
+        if (0 < e && e <= 7) {
+            // plain without leading zeroes
+            b[i++] = (byte) ('0' + h);
+            int y = y(m), n = 1;
+            for (; n < e; ++n) {
+                int t = 10 * y;
+                b[i++] = (byte) ('0' + (t >>> 28));
+                y = t & 0xFFFFFFF;
+            }
+            b[i++] = '.';
+            for (; n <= 8; ++n) {
+                int t = 10 * y;
+                b[i++] = (byte) ('0' + (t >>> 28));
+                y = t & 0xFFFFFFF;
+            }
+            if (l != 0) {
+                i = digits(l, i, b);
+            }
+            return trim(i, b);
+        }
+
+        if (-3 < e && e <= 0) {
+            // plain with leading zeroes
+            b[i++] = '0';
+            b[i++] = '.';
+            for (; e < 0; ++e) {
+                b[i++] = '0';
+            }
+            b[i++] = (byte) ('0' + h);
+            i = digits(m, i, b);
+            if (l != 0) {
+                i = digits(l, i, b);
+            }
+            return trim(i, b);
+        }
+
+        // computerized scientific notation
+        b[i++] = (byte) ('0' + h);
+        b[i++] = '.';
+        i = digits(m, i, b);
+        if (l != 0) {
+            i = digits(l, i, b);
+        }
+        return exponent(
+            e - 1, trim(i, b), b
+        );
+    }
+
+    /**
+     * Writes {@code f * 10^e} of at most 9 digits
+     */
+    private static int toChars(
+        int f, int e, int i, byte[] b
+    ) {
+        int len = flog10pow2(32 - Integer.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len++;
+        }
+        f *= (int) POW10[9 - len];
+        e += len;
+
+        int h = (int) (f * 1441151881L >>> 57);
+        int l = f - 100000000 * h;
+
+        if (0 < e && e <= 7) {
+            // plain without leading zeroes
+            b[i++] = (byte) ('0' + h);
+            int y = y(l), n = 1;
+            for (; n < e; ++n) {
+                int t = 10 * y;
+                b[i++] = (byte) ('0' + (t >>> 28));
+                y = t & 0xFFFFFFF;
+            }
+            b[i++] = '.';
+            for (; n <= 8; ++n) {
+                int t = 10 * y;
+                b[i++] = (byte) ('0' + (t >>> 28));
+                y = t & 0xFFFFFFF;
+            }
+            return trim(i, b);
+        }
+
+        if (-3 < e && e <= 0) {
+            // plain with leading zeroes
+            b[i++] = '0';
+            b[i++] = '.';
+            for (; e < 0; ++e) {
+                b[i++] = '0';
+            }
+            b[i++] = (byte) ('0' + h);
+            return trim(digits(l, i, b), b);
+        }
+
+        // computerized scientific notation
+        b[i++] = (byte) ('0' + h);
+        b[i++] = '.';
+        return exponent(
+            e - 1, trim(digits(l, i, b), b), b
+        );
+    }
+
+    /**
+     * Writes the eight digits of the specified number
+     */
+    private static int digits(
+        int m, int i, byte[] b
+    ) {
+        int y = y(m);
+        for (int n = 0; n < 8; ++n) {
+            int t = 10 * y;
+            b[i++] = (byte) ('0' + (t >>> 28));
+            y = t & 0xFFFFFFF;
+        }
+        return i;
+    }
+
+    /**
+     * Removes the trailing zeroes but the one after the point
+     */
+    private static int trim(
+        int i, byte[] b
+    ) {
+        while (b[i - 1] == '0') --i;
+        if (b[i - 1] == '.') ++i;
+        return i;
+    }
+
+    private static int exponent(
+        int e, int i, byte[] b
+    ) {
+        b[i++] = 'E';
+        if (e < 0) {
+            b[i++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            b[i++] = (byte) ('0' + e);
+            return i;
+        }
+        if (e >= 100) {
+            int d = e * 1311 >>> 17;
+            b[i++] = (byte) ('0' + d);
+            e -= 100 * d;
+        }
+        b[i++] = PAIRS[e << 1];
+        b[i++] = PAIRS[(e << 1) + 1];
+        return i;
+    }
+
+    /**
+     * Returns {@code ceil(2^28 * a / 10^8) - 1}
+     */
+    private static int y(int a) {
+        return (int) (multiplyHigh(
+            (long) (a + 1) << 28, 193428131138340668L
+        ) >>> 20) - 1;
+    }
+
+    /**
+     * Returns the high word of the signed product
+     */
+    static long multiplyHigh(
+        long x, long y
+    ) {
+        long x1 = x >> 32, x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32, y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    static int flog10pow2(int e) {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661971961083L + -274743187321L >> 41);
+    }
+
+    static int flog2pow10(int e) {
+        return (int) (e * 913124641741L >> 38);
+    }
+}
@@ -21,6 +21,7 @@ import java.io.Reader;
 import java.io.IOException;
 
 import static plus.kat.flow.Stream.*;
+import static plus.kat.lang.Uniform.*;
 
 /**
  * @author kraity
@@ -30,6 +31,7 @@ public final class ReaderFlow extends TransferFlow {
 
     private char[] temp;
     private Reader flow;
+    private boolean full;
 
     /**
      * Constructs this flow where
@@ -58,11 +60,27 @@ public final class ReaderFlow extends TransferFlow {
     public int load()
         throws IOException {
         int size;
-        if (temp != null) {
-            size = flow.read(temp);
+        char[] it = temp;
+        if (it != null) {
+            int n = it.length;
+            int m = FLOW_CAPACITY / 3;
+            if (full && n < m) {
+                // the last read filled the window,
+                // so the reader keeps up with a larger one
+                temp = it = new char[
+                    Math.min(n << 1, m)
+                    ];
+                if (v.length < it.length * 3) {
+                    v = BUCKET.apply(
+                        v, 0, it.length * 3
+                    );
+                }
+            }
+            size = flow.read(it);
             if (size > 0) {
+                full = size == it.length;
                 return l = load(
-                    temp, 0, 0, size
+                    it, 0, 0, size
                 );
             }
             return size;
@@ -73,16 +91,20 @@ public final class ReaderFlow extends TransferFlow {
             return l = -1;
         }
 
+        temp = it = new char[
+            Math.max(FLOW_INITIAL, 2)
+            ];
         v = BUCKET.apply(
-            null, 0, 2048
+            null, 0, it.length * 3
         );
+        it[0] = (char) next;
 
-        temp = new char[256];
-        temp[0] = (char) next;
-
-        size = flow.read(temp, 1, 255);
+        size = flow.read(
+            it, 1, it.length - 1
+        );
+        full = size == it.length - 1;
         return load(
-            temp, 0, 0, size > 0 ? size + 1 : 1
+            it, 0, 0, size > 0 ? size + 1 : 1
         );
     }
 
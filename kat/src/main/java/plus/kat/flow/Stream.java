@@ -20,6 +20,7 @@ import plus.kat.lang.*;
 import plus.kat.actor.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 import static plus.kat.lang.Uniform.*;
 
@@ -33,11 +34,12 @@ public class Stream extends Binary implements Flux {
     protected Bucket bucket;
 
     protected int depth;
-    protected char[] chunk;
 
     protected boolean clean;
     protected boolean coding;
 
+    protected OutputStream sink;
+
     /**
      * @author kraity
      * @since 0.0.6
@@ -63,76 +65,34 @@ public class Stream extends Binary implements Flux {
         byte[] apply(byte[] flow, int size, int capacity);
     }
 
-    @SuppressWarnings("unchecked")
-    public static final Bucket BUCKET = new Bucket() {
-        private final int mask, valve, scale;
-        private final KatBuffer<byte[]>[] table;
+    /**
+     * The shared bucket of streams and flows, see {@link KatBucket}
+     */
+    public static final Bucket BUCKET = new KatBucket(
+        STREAM_GROUP, STREAM_CAPACITY, STREAM_LIMIT, STREAM_BUDGET
+    );
 
-        {
-            int g = STREAM_GROUP;
-            int l = STREAM_CAPACITY;
-            if ((g & (mask = g - 1)) == 0 &&
-                (l & (valve = l - 1)) == 0) {
-                scale = l;
-                table = new KatBuffer[g];
-                do {
-                    table[--g] = new KatBuffer<>();
-                } while (g > 0);
-            } else {
-                throw new IllegalArgumentException(
-                    g + "&" + l + " must be the power of 2"
-                );
-            }
-        }
+    /**
+     * The escape tables of ascii, see {@link #escape()}
+     */
+    static final byte[] PLAIN = new byte[128],
+        NAMED = new byte[128];
 
-        @Override
-        public byte[] store(byte[] flow) {
-            if (flow != null) {
-                int i = flow.length;
-                if (i % scale == valve && (i /= scale) < 2) {
-                    int v = mask & Thread
-                        .currentThread().hashCode();
-                    if (table[i ^ v].resume(flow)) {
-                        return EMPTY_BYTES;
-                    }
-                }
-            }
-            return flow;
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            PLAIN[i] = 1;
         }
+        PLAIN['"'] = 1;
+        PLAIN['\\'] = 1;
+        PLAIN[0x7F] = 1;
 
-        @Override
-        public byte[] apply(byte[] flow, int size, int capacity) {
-            int i = capacity / scale;
-            int v = mask & Thread
-                .currentThread().hashCode();
-
-            byte[] data;
-            if (i > 1) {
-                data = new byte[i * scale + valve];
-            } else {
-                KatBuffer<byte[]> node = table[i ^ v];
-                data = node.getAndSet(null);
-                if (data == null) {
-                    data = node.acquire();
-                    if (data == null) {
-                        data = new byte[i * scale + valve];
-                    }
-                }
-            }
-
-            if (flow != null && (i = flow.length) != 0) {
-                System.arraycopy(
-                    flow, 0, data, 0, size
-                );
-
-                if (i % scale == valve && (i /= scale) < 2) {
-                    table[i ^ v].resume(flow);
-                }
-            }
-
-            return data;
+        System.arraycopy(
+            PLAIN, 0, NAMED, 0, 128
+        );
+        for (char c : " #,:=@[]{}".toCharArray()) {
+            NAMED[c] = 1;
         }
-    };
+    }
 
     /**
      * Constructs a default stream
@@ -163,10 +123,32 @@ public class Stream extends Binary implements Flux {
     public Stream(
         @NotNull long flags,
         @NotNull Bucket bucket
+    ) {
+        this(
+            flags, bucket, null
+        );
+    }
+
+    /**
+     * Constructs a stream with the specified arguments
+     * <p>
+     * If the sink is not null, the buffered bytes are written to
+     * the sink in chunks of {@code katplus.stream.chunk} while encoding,
+     * so the buffer does not grow with the size of the whole document
+     *
+     * @param flags  the specified flags of {@link Flux}
+     * @param bucket the specified bucket of {@link Flux}
+     * @param sink   the specified sink of {@link Flux}, may be null
+     */
+    public Stream(
+        @NotNull long flags,
+        @NotNull Bucket bucket,
+        @Nilable OutputStream sink
     ) {
         if (bucket != null) {
             this.flags = flags;
             this.depth = (int) (flags & PRETTY);
+            this.sink = sink;
             this.bucket = bucket;
             this.coding = 0 != (flags & UNICODE);
         } else {
@@ -505,80 +487,17 @@ public class Stream extends Binary implements Flux {
     public void emit(
         int val
     ) throws IOException {
-        int iv;
+        int min = size + Numeral.sizeOf(val);
         byte[] it = value;
-        if (val < 0) {
-            if (-9 <= val) {
-                iv = size + 2;
-            } else if (-99 <= val) {
-                iv = size + 3;
-            } else if (-999 <= val) {
-                iv = size + 4;
-            } else if (-9999 <= val) {
-                iv = size + 5;
-            } else if (-99999 <= val) {
-                iv = size + 6;
-            } else if (-999999 <= val) {
-                iv = size + 7;
-            } else if (-9999999 <= val) {
-                iv = size + 8;
-            } else if (-99999999 <= val) {
-                iv = size + 9;
-            } else if (-999999999 <= val) {
-                iv = size + 10;
-            } else {
-                iv = size + 11;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            it[size] = '-';
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30 - (val % 10)
-                );
-            } while ((val /= 10) != 0);
-        } else {
-            if (val <= 9) {
-                iv = size + 1;
-            } else if (val <= 99) {
-                iv = size + 2;
-            } else if (val <= 999) {
-                iv = size + 3;
-            } else if (val <= 9999) {
-                iv = size + 4;
-            } else if (val <= 99999) {
-                iv = size + 5;
-            } else if (val <= 999999) {
-                iv = size + 6;
-            } else if (val <= 9999999) {
-                iv = size + 7;
-            } else if (val <= 99999999) {
-                iv = size + 8;
-            } else if (val <= 999999999) {
-                iv = size + 9;
-            } else {
-                iv = size + 10;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30 + (val % 10)
-                );
-            } while ((val /= 10) != 0);
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
         }
+        Numeral.getBytes(
+            val, size = min, it
+        );
     }
 
     /**
@@ -591,116 +510,17 @@ public class Stream extends Binary implements Flux {
     public void emit(
         long val
     ) throws IOException {
-        int iv;
+        int min = size + Numeral.sizeOf(val);
         byte[] it = value;
-        if (val < 0) {
-            if (-9L <= val) {
-                iv = size + 2;
-            } else if (-99L <= val) {
-                iv = size + 3;
-            } else if (-999L <= val) {
-                iv = size + 4;
-            } else if (-9999L <= val) {
-                iv = size + 5;
-            } else if (-99999L <= val) {
-                iv = size + 6;
-            } else if (-999999L <= val) {
-                iv = size + 7;
-            } else if (-9999999L <= val) {
-                iv = size + 8;
-            } else if (-99999999L <= val) {
-                iv = size + 9;
-            } else if (-999999999L <= val) {
-                iv = size + 10;
-            } else if (-9999999999L <= val) {
-                iv = size + 11;
-            } else if (-99999999999L <= val) {
-                iv = size + 12;
-            } else if (-999999999999L <= val) {
-                iv = size + 13;
-            } else if (-9999999999999L <= val) {
-                iv = size + 14;
-            } else if (-99999999999999L <= val) {
-                iv = size + 15;
-            } else if (-999999999999999L <= val) {
-                iv = size + 16;
-            } else if (-9999999999999999L <= val) {
-                iv = size + 17;
-            } else if (-99999999999999999L <= val) {
-                iv = size + 18;
-            } else if (-999999999999999999L <= val) {
-                iv = size + 19;
-            } else {
-                iv = size + 20;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            it[size] = '-';
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30L - (val % 10L)
-                );
-            } while ((val /= 10L) != 0L);
-        } else {
-            if (val <= 9L) {
-                iv = size + 1;
-            } else if (val <= 99L) {
-                iv = size + 2;
-            } else if (val <= 999L) {
-                iv = size + 3;
-            } else if (val <= 9999L) {
-                iv = size + 4;
-            } else if (val <= 99999L) {
-                iv = size + 5;
-            } else if (val <= 999999L) {
-                iv = size + 6;
-            } else if (val <= 9999999L) {
-                iv = size + 7;
-            } else if (val <= 99999999L) {
-                iv = size + 8;
-            } else if (val <= 999999999L) {
-                iv = size + 9;
-            } else if (val <= 9999999999L) {
-                iv = size + 10;
-            } else if (val <= 99999999999L) {
-                iv = size + 11;
-            } else if (val <= 999999999999L) {
-                iv = size + 12;
-            } else if (val <= 9999999999999L) {
-                iv = size + 13;
-            } else if (val <= 99999999999999L) {
-                iv = size + 14;
-            } else if (val <= 999999999999999L) {
-                iv = size + 15;
-            } else if (val <= 9999999999999999L) {
-                iv = size + 16;
-            } else if (val <= 99999999999999999L) {
-                iv = size + 17;
-            } else if (val <= 999999999999999999L) {
-                iv = size + 18;
-            } else {
-                iv = size + 19;
-            }
-
-            if (iv > it.length) {
-                value = it
-                    = bucket.apply(
-                    it, size, iv
-                );
-            }
-            size = iv;
-            do {
-                it[--iv] = (byte) (
-                    0x30L + (val % 10L)
-                );
-            } while ((val /= 10L) != 0L);
+        if (min > it.length) {
+            value = it
+                = bucket.apply(
+                it, size, min
+            );
         }
+        Numeral.getBytes(
+            val, size = min, it
+        );
     }
 
     /**
@@ -722,14 +542,10 @@ public class Stream extends Binary implements Flux {
      * @param val the specified number value
      * @throws IOException If an I/O error occurs
      */
-    @SuppressWarnings("deprecation")
     public void emit(
         float val
     ) throws IOException {
-        String data = Float.toString(val);
-        int now = size,
-            add = data.length(),
-            min = now + add;
+        int min = size + Numeral.FLOAT_SIZE;
         byte[] it = value;
         if (min > it.length) {
             value = it
@@ -737,8 +553,9 @@ public class Stream extends Binary implements Flux {
                 it, size, min
             );
         }
-        size = min;
-        data.getBytes(0, add, it, now);
+        size = Numeral.getBytes(
+            val, size, it
+        );
     }
 
     /**
@@ -747,14 +564,10 @@ public class Stream extends Binary implements Flux {
      * @param val the specified number value
      * @throws IOException If an I/O error occurs
      */
-    @SuppressWarnings("deprecation")
     public void emit(
         double val
     ) throws IOException {
-        String data = Double.toString(val);
-        int now = size,
-            add = data.length(),
-            min = now + add;
+        int min = size + Numeral.DOUBLE_SIZE;
         byte[] it = value;
         if (min > it.length) {
             value = it
@@ -762,8 +575,9 @@ public class Stream extends Binary implements Flux {
                 it, size, min
             );
         }
-        size = min;
-        data.getBytes(0, add, it, now);
+        size = Numeral.getBytes(
+            val, size, it
+        );
     }
 
     /**
@@ -874,106 +688,28 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.length) {
-            if (l != 0) {
-                if (coding) {
-                    byte[] hex = UPPER;
-                    do {
-                        char ch = val[i++];
-                        if (ch < 0x80) {
-                            emit((byte) ch);
-                        } else {
-                            byte[] it = value;
-                            int min = size + 6;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = '\\';
-                            it[size++] = 'u';
-                            it[size++] = hex[ch >> 12 & 0x0F];
-                            it[size++] = hex[ch >> 8 & 0x0F];
-                            it[size++] = hex[ch >> 4 & 0x0F];
-                            it[size++] = hex[ch & 0x0F];
-                        }
-                    } while (i < m);
-                } else {
-                    do {
-                        char c1 = val[i++];
-
-                        // U+0000 ~ U+007F
-                        if (c1 < 0x80) {
-                            emit((byte) c1);
-                        }
-
-                        // U+0080 ~ U+07FF
-                        else if (c1 < 0x800) {
-                            byte[] it = value;
-                            int min = size + 2;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = (byte) (c1 >> 6 | 0xC0);
-                            it[size++] = (byte) (c1 & 0x3F | 0x80);
-                        }
-
-                        // U+0800 ~ U+D7FF
-                        // U+E000 ~ U+FFFF
-                        else if (c1 < 0xD800 || 0xDFFF < c1) {
-                            byte[] it = value;
-                            int min = size + 3;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = (byte) (c1 >> 12 | 0xE0);
-                            it[size++] = (byte) (c1 >> 6 & 0x3F | 0x80);
-                            it[size++] = (byte) (c1 & 0x3F | 0x80);
-                        }
-
-                        // U+10000 ~ U+10FFFF
-                        else {
-                            if (c1 > 0xDBFF) {
-                                emit((byte) '?');
-                                continue;
-                            }
-
-                            if (i == m) {
-                                emit((byte) '?');
-                                return;
-                            }
-
-                            char c2 = val[i];
-                            if (c2 < 0xDC00 ||
-                                c2 > 0xDFFF) {
-                                emit((byte) '?');
-                                continue;
-                            }
-
-                            int hi = c1 - 0xD7C0;
-                            int lo = c2 - 0xDC00;
+            byte[] esc = escape();
+            while (i < m) {
+                int j = i;
+                char c1;
+                while (j < m && (c1 = val[j]) < 0x80 && esc[c1] == 0) j++;
+                if (j != i) {
+                    byte[] it = grow(size + j - i);
+                    int n = size;
+                    while (i < j) {
+                        it[n++] = (byte) val[i++];
+                    }
+                    size = n;
+                    if (i == m) {
+                        break;
+                    }
+                }
 
-                            byte[] it = value;
-                            int min = size + 4;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            i++; // 2 chars
-                            it[size++] = (byte) (hi >> 8 | 0xF0);
-                            it[size++] = (byte) (hi >> 2 & 0x3F | 0x80);
-                            it[size++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
-                            it[size++] = (byte) (lo & 0x3F | 0x80);
-                        }
-                    } while (i < m);
+                c1 = val[i++];
+                if (coding || c1 < 0xD800 || c1 > 0xDFFF) {
+                    emit(c1);
+                } else if (emit(c1, i < m ? val[i] : 0)) {
+                    i++;
                 }
             }
         } else {
@@ -994,14 +730,9 @@ public class Stream extends Binary implements Flux {
     public void emit(
         @NotNull Binary val
     ) throws IOException {
-        int l = val.size();
-        if (l != 0) {
-            int i = 0;
-            byte[] it = valueOf(val);
-            while (i < l) {
-                emit(it[i++]);
-            }
-        }
+        emit(
+            val, 0, val.size()
+        );
     }
 
     /**
@@ -1020,9 +751,23 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.size()) {
-            byte[] it = valueOf(val);
+            byte[] esc = escape();
+            byte[] bin = valueOf(val);
             while (i < m) {
-                emit(it[i++]);
+                int j = i;
+                byte b;
+                while (j < m && ((b = bin[j]) < 0 || esc[b] == 0)) j++;
+                if (j != i) {
+                    int n = j - i;
+                    System.arraycopy(
+                        bin, i, grow(size + n), size, n
+                    );
+                    size += n;
+                    if ((i = j) == m) {
+                        break;
+                    }
+                }
+                emit(bin[i++]);
             }
         } else {
             throw new IOException(
@@ -1058,147 +803,40 @@ public class Stream extends Binary implements Flux {
      * @throws NullPointerException If the sequence is null
      */
     @Override
+    @SuppressWarnings("deprecation")
     public void emit(
         @NotNull String val, int i, int l
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.length()) {
-            if (l != 0) {
-                char[] tmp = chunk;
-                if (tmp == null) {
-                    if (l > 511) {
-                        chunk = tmp =
-                            new char[256];
-                    } else {
-                        chunk = tmp =
-                            new char[64];
-                    }
-                } else if (l > 511) {
-                    if (tmp.length < 256) {
-                        chunk = tmp =
-                            new char[256];
-                    }
+            byte[] esc = escape();
+            while (i < m) {
+                if (state == 0) {
+                    drain();
                 }
-
-                int cap = tmp.length;
-                if (coding) {
-                    byte[] hex = UPPER;
-                    do {
-                        int n = m - i;
-                        if (n > cap) n = cap;
-                        val.getChars(
-                            i, i += n, tmp, 0
+                int e = m - i > 512 ? i + 512 : m;
+                while (i < e) {
+                    int j = i;
+                    char c1;
+                    while (j < e && (c1 = val.charAt(j)) < 0x80 && esc[c1] == 0) j++;
+                    if (j != i) {
+                        // copies the low bytes of the chars,
+                        // a plain memory copy for latin strings
+                        val.getBytes(
+                            i, j, grow(size + j - i), size
                         );
-                        for (int j = 0; j < n; j++) {
-                            char ch = tmp[j];
-                            if (ch < 0x80) {
-                                emit((byte) ch);
-                            } else {
-                                byte[] it = value;
-                                int min = size + 6;
-                                if (min > it.length) {
-                                    value = it
-                                        = bucket.apply(
-                                        it, size, min
-                                    );
-                                }
-                                it[size++] = '\\';
-                                it[size++] = 'u';
-                                it[size++] = hex[ch >> 12 & 0x0F];
-                                it[size++] = hex[ch >> 8 & 0x0F];
-                                it[size++] = hex[ch >> 4 & 0x0F];
-                                it[size++] = hex[ch & 0x0F];
-                            }
+                        size += j - i;
+                        if ((i = j) == e) {
+                            break;
                         }
-                    } while (i < m);
-                } else {
-                    do {
-                        int n = m - i;
-                        if (n > cap) n = cap;
-                        val.getChars(
-                            i, i += n, tmp, 0
-                        );
-                        for (int j = 0; j < n; j++) {
-                            char c1 = tmp[j];
-
-                            // U+0000 ~ U+007F
-                            if (c1 < 0x80) {
-                                emit((byte) c1);
-                            }
-
-                            // U+0080 ~ U+07FF
-                            else if (c1 < 0x800) {
-                                byte[] it = value;
-                                int min = size + 2;
-                                if (min > it.length) {
-                                    value = it
-                                        = bucket.apply(
-                                        it, size, min
-                                    );
-                                }
-                                it[size++] = (byte) (c1 >> 6 | 0xC0);
-                                it[size++] = (byte) (c1 & 0x3F | 0x80);
-                            }
-
-                            // U+0800 ~ U+D7FF
-                            // U+E000 ~ U+FFFF
-                            else if (c1 < 0xD800 || 0xDFFF < c1) {
-                                byte[] it = value;
-                                int min = size + 3;
-                                if (min > it.length) {
-                                    value = it
-                                        = bucket.apply(
-                                        it, size, min
-                                    );
-                                }
-                                it[size++] = (byte) (c1 >> 12 | 0xE0);
-                                it[size++] = (byte) (c1 >> 6 & 0x3F | 0x80);
-                                it[size++] = (byte) (c1 & 0x3F | 0x80);
-                            }
-
-                            // U+10000 ~ U+10FFFF
-                            else {
-                                if (c1 > 0xDBFF) {
-                                    emit((byte) '?');
-                                    continue;
-                                }
-
-                                char c2;
-                                if (n != ++j) {
-                                    c2 = tmp[j];
-                                } else {
-                                    if (i != m) {
-                                        c2 = val.charAt(i++);
-                                    } else {
-                                        emit((byte) '?');
-                                        return;
-                                    }
-                                }
-
-                                if (c2 < 0xDC00 ||
-                                    c2 > 0xDFFF) {
-                                    emit((byte) '?');
-                                    continue;
-                                }
-
-                                int hi = c1 - 0xD7C0;
-                                int lo = c2 - 0xDC00;
+                    }
 
-                                byte[] it = value;
-                                int min = size + 4;
-                                if (min > it.length) {
-                                    value = it
-                                        = bucket.apply(
-                                        it, size, min
-                                    );
-                                }
-                                it[size++] = (byte) (hi >> 8 | 0xF0);
-                                it[size++] = (byte) (hi >> 2 & 0x3F | 0x80);
-                                it[size++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
-                                it[size++] = (byte) (lo & 0x3F | 0x80);
-                            }
-                        }
-                    } while (i < m);
+                    c1 = val.charAt(i++);
+                    if (coding || c1 < 0xD800 || c1 > 0xDFFF) {
+                        emit(c1);
+                    } else if (emit(c1, i < m ? val.charAt(i) : 0)) {
+                        i++;
+                    }
                 }
             }
         } else {
@@ -1208,6 +846,35 @@ public class Stream extends Binary implements Flux {
         }
     }
 
+    /**
+     * Concatenates the specified label, the pre-encoded bytes
+     * of a plain label are copied in bulk without escaping
+     *
+     * @param val the specified label value
+     * @throws IOException          If an I/O error occurs
+     * @throws NullPointerException If the label is null
+     */
+    protected void emit(
+        @NotNull Label val
+    ) throws IOException {
+        if (val.isPlain()) {
+            byte[] it = coding
+                ? val.unicode()
+                : valueOf(val);
+            join(
+                it, 0, it.length
+            );
+        } else if (coding) {
+            emit(
+                val.toString()
+            );
+        } else {
+            emit(
+                val, 0, val.size()
+            );
+        }
+    }
+
     /**
      * Concatenates the value to this flux
      *
@@ -1290,106 +957,28 @@ public class Stream extends Binary implements Flux {
     ) throws IOException {
         int m = i + l;
         if (0 <= i && 0 <= l && m <= val.length()) {
-            if (l != 0) {
-                if (coding) {
-                    byte[] hex = UPPER;
-                    do {
-                        char ch = val.charAt(i++);
-                        if (ch < 0x80) {
-                            emit((byte) ch);
-                        } else {
-                            byte[] it = value;
-                            int min = size + 6;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = '\\';
-                            it[size++] = 'u';
-                            it[size++] = hex[ch >> 12 & 0x0F];
-                            it[size++] = hex[ch >> 8 & 0x0F];
-                            it[size++] = hex[ch >> 4 & 0x0F];
-                            it[size++] = hex[ch & 0x0F];
-                        }
-                    } while (i < m);
-                } else {
-                    do {
-                        char c1 = val.charAt(i++);
-
-                        // U+0000 ~ U+007F
-                        if (c1 < 0x80) {
-                            emit((byte) c1);
-                        }
-
-                        // U+0080 ~ U+07FF
-                        else if (c1 < 0x800) {
-                            byte[] it = value;
-                            int min = size + 2;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = (byte) (c1 >> 6 | 0xC0);
-                            it[size++] = (byte) (c1 & 0x3F | 0x80);
-                        }
-
-                        // U+0800 ~ U+D7FF
-                        // U+E000 ~ U+FFFF
-                        else if (c1 < 0xD800 || 0xDFFF < c1) {
-                            byte[] it = value;
-                            int min = size + 3;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            it[size++] = (byte) (c1 >> 12 | 0xE0);
-                            it[size++] = (byte) (c1 >> 6 & 0x3F | 0x80);
-                            it[size++] = (byte) (c1 & 0x3F | 0x80);
-                        }
-
-                        // U+10000 ~ U+10FFFF
-                        else {
-                            if (c1 > 0xDBFF) {
-                                emit((byte) '?');
-                                continue;
-                            }
-
-                            if (i == m) {
-                                emit((byte) '?');
-                                return;
-                            }
-
-                            char c2 = val.charAt(i);
-                            if (c2 < 0xDC00 ||
-                                c2 > 0xDFFF) {
-                                emit((byte) '?');
-                                continue;
-                            }
-
-                            int hi = c1 - 0xD7C0;
-                            int lo = c2 - 0xDC00;
+            byte[] esc = escape();
+            while (i < m) {
+                int j = i;
+                char c1;
+                while (j < m && (c1 = val.charAt(j)) < 0x80 && esc[c1] == 0) j++;
+                if (j != i) {
+                    byte[] it = grow(size + j - i);
+                    int n = size;
+                    while (i < j) {
+                        it[n++] = (byte) val.charAt(i++);
+                    }
+                    size = n;
+                    if (i == m) {
+                        break;
+                    }
+                }
 
-                            byte[] it = value;
-                            int min = size + 4;
-                            if (min > it.length) {
-                                value = it
-                                    = bucket.apply(
-                                    it, size, min
-                                );
-                            }
-                            i++; // 2 chars
-                            it[size++] = (byte) (hi >> 8 | 0xF0);
-                            it[size++] = (byte) (hi >> 2 & 0x3F | 0x80);
-                            it[size++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
-                            it[size++] = (byte) (lo & 0x3F | 0x80);
-                        }
-                    } while (i < m);
+                c1 = val.charAt(i++);
+                if (coding || c1 < 0xD800 || c1 > 0xDFFF) {
+                    emit(c1);
+                } else if (emit(c1, i < m ? val.charAt(i) : 0)) {
+                    i++;
                 }
             }
         } else {
@@ -1399,9 +988,70 @@ public class Stream extends Binary implements Flux {
         }
     }
 
+    /**
+     * Concatenates the surrogate pair to this flux as UTF-8,
+     * or {@code ?} if it is crippled, returns true if the
+     * low surrogate is consumed
+     *
+     * @param c1 the specified high surrogate
+     * @param c2 the specified next char, or zero if none
+     */
+    private boolean emit(
+        char c1, char c2
+    ) {
+        if (c1 > 0xDBFF ||
+            c2 < 0xDC00 ||
+            c2 > 0xDFFF) {
+            join((byte) '?');
+            return false;
+        }
+
+        int hi = c1 - 0xD7C0;
+        int lo = c2 - 0xDC00;
+
+        byte[] it = grow(size + 4);
+        it[size++] = (byte) (hi >> 8 | 0xF0);
+        it[size++] = (byte) (hi >> 2 & 0x3F | 0x80);
+        it[size++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
+        it[size++] = (byte) (lo & 0x3F | 0x80);
+        return true;
+    }
+
+    /**
+     * Returns the escape table of ascii for the current state,
+     * where the bytes marked nonzero are written by {@link #emit(byte)}
+     * and the runs of the others are copied as they are
+     */
+    protected byte[] escape() {
+        return state == 1 ? NAMED : PLAIN;
+    }
+
+    /**
+     * Writes the buffered bytes to the sink and empties
+     * this stream, then flushes the sink. If this stream
+     * has no sink then invoking this method has no effect
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void flush()
+        throws IOException {
+        OutputStream out = sink;
+        if (out != null) {
+            if (size != 0) {
+                out.write(
+                    value, 0, size
+                );
+                size = 0;
+            }
+            out.flush();
+        }
+    }
+
     /**
      * Returns a new serialized
-     * binary for this {@link Stream}
+     * binary for this {@link Stream}.
+     * If this stream has a sink, only
+     * the bytes not yet flushed are returned
      */
     public byte[] toBinary() {
         if (size != 0) {
@@ -1417,7 +1067,9 @@ public class Stream extends Binary implements Flux {
 
     /**
      * Returns a new serialized
-     * string for this binary
+     * string for this binary.
+     * If this stream has a sink, only
+     * the bytes not yet flushed are returned
      */
     public String toString() {
         return size == 0 ? "" : (
@@ -1428,14 +1080,14 @@ public class Stream extends Binary implements Flux {
     }
 
     /**
-     * Closes this stream and releases
-     * the resources associated with it
+     * Closes this stream and releases the resources
+     * associated with it, the sink is not flushed or closed
      */
     public void close() {
+        sink = null;
         byte[] it = value;
         if (it.length != 0) {
             size = 0;
-            chunk = null;
             if (clean) {
                 value = EMPTY_BYTES;
             } else {
@@ -1453,6 +1105,52 @@ public class Stream extends Binary implements Flux {
         return bucket;
     }
 
+    /**
+     * Writes the buffered bytes to the sink if this stream
+     * has a sink and its size has reached the chunk size
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    protected void drain()
+        throws IOException {
+        if (size >= STREAM_CHUNK) {
+            OutputStream out = sink;
+            if (out != null) {
+                out.write(
+                    value, 0, size
+                );
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * Concatenates the pre-encoded bytes to this flux as they are,
+     * the bytes must not contain any byte escaped by this flux
+     *
+     * @param val the specified pre-encoded value
+     * @param i   the specified begin index
+     * @param l   the specified required length
+     * @throws IOException If the index or length is out of bounds
+     */
+    @Override
+    public void join(
+        @NotNull byte[] val, int i, int l
+    ) throws IOException {
+        if (0 <= i && 0 <= l && i + l <= val.length) {
+            if (l != 0) {
+                System.arraycopy(
+                    val, i, grow(size + l), size, l
+                );
+                size += l;
+            }
+        } else {
+            throw new IOException(
+                "Out of bounds, i:" + i + " l:" + l + " length:" + val.length
+            );
+        }
+    }
+
     /**
      * Concatenates the value to this flux
      *
@@ -17,6 +17,7 @@ package plus.kat.flow;
 
 import plus.kat.actor.*;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static plus.kat.flow.Stream.*;
 
 /**
@@ -24,9 +25,14 @@ import static plus.kat.flow.Stream.*;
  * @since 0.0.6
  */
 public final class StringFlow extends TransferFlow {
+    /**
+     * Texts up to this length are copied in one go, into a pooled
+     * array if all ascii, otherwise with {@link String#getBytes(java.nio.charset.Charset)}
+     */
+    static final int DIRECT = 1 << 16;
 
-    private char[] temp;
     private String flow;
+    private boolean pooled;
 
     private int left;
     private final int right;
@@ -73,6 +79,7 @@ public final class StringFlow extends TransferFlow {
     }
 
     @Override
+    @SuppressWarnings("deprecation")
     public int load() {
         int size = right - left;
         if (size <= 0) {
@@ -80,43 +87,66 @@ public final class StringFlow extends TransferFlow {
         }
 
         if (v == null) {
+            if (size <= DIRECT) {
+                if (ascii()) {
+                    // ascii text is copied into a
+                    // pooled array without transcoding
+                    pooled = true;
+                    byte[] data = v = BUCKET.apply(
+                        null, 0, size
+                    );
+                    flow.getBytes(
+                        left, right, data, 0
+                    );
+                    left = right;
+                    i = 0;
+                    return l = size;
+                }
+                String text = flow;
+                if (size != text.length()) {
+                    text = text.substring(
+                        left, right
+                    );
+                }
+                // compact strings are
+                // copied in bulk by JDK
+                byte[] data = text.getBytes(UTF_8);
+                left = right;
+                v = data;
+                i = 0;
+                return l = data.length;
+            }
+            pooled = true;
             v = BUCKET.apply(
                 null, 0, 2048
             );
-            if (size > 511) {
-                if (size > 1023) {
-                    temp = new char[512];
-                } else {
-                    temp = new char[256];
-                }
-            }
         }
 
-        if (temp != null) {
-            int cap = temp.length / 3;
-            if (size > cap) size = cap;
-
-            flow.getChars(
-                left, left += size, temp, 0
-            );
-            return load(
-                temp, 0, 0, size
-            );
-        } else {
-            int cap = v.length / 3;
-            if (size > cap) size = cap;
+        left = fill(
+            flow, left, right
+        );
+        return l;
+    }
 
-            return load(
-                flow, 0, left, left += size
-            );
+    /**
+     * Returns true if the remaining text is all ascii
+     */
+    private boolean ascii() {
+        String text = flow;
+        for (int n = left; n < right; n++) {
+            if (text.charAt(n) >= 0x80) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
     public void close() {
-        BUCKET.store(v);
+        if (pooled) {
+            BUCKET.store(v);
+        }
         flow = null;
-        temp = null;
         super.close();
     }
 }
@@ -155,4 +155,172 @@ public abstract class TransferFlow extends Flow {
 
         return l = from;
     }
+
+    /**
+     * Encode the source as UTF-8 and writes it to {@link Flow#v}
+     * until the source is exhausted or {@link Flow#v} is full,
+     * then sets {@link Flow#i} to zero and {@link Flow#l} to the size
+     *
+     * @param source the specified source
+     * @param start  the start index of specified source, inclusive
+     * @param offset the offset index of specified source, exclusive
+     * @return the index of specified source where the encoding stopped
+     */
+    protected int fill(
+        char[] source, int start, int offset
+    ) {
+        int from = 0;
+        byte[] it = v;
+
+        // ASCII run
+        int bound = offset - start;
+        if (bound > it.length) {
+            bound = it.length;
+        }
+        for (bound += start; start < bound; ) {
+            char c = source[start];
+            if (c < 0x80) {
+                start++;
+                it[from++] = (byte) c;
+            } else {
+                break;
+            }
+        }
+
+        int limit = it.length - 3;
+        while (start < offset && from < limit) {
+            char c1 = source[start++];
+
+            // U+0000 ~ U+007F
+            if (c1 < 0x80) {
+                it[from++] = (byte) c1;
+            }
+
+            // U+0080 ~ U+07FF
+            else if (c1 < 0x800) {
+                it[from++] = (byte) (c1 >> 6 | 0xC0);
+                it[from++] = (byte) (c1 & 0x3F | 0x80);
+            }
+
+            // U+0800 ~ U+D7FF
+            // U+E000 ~ U+FFFF
+            else if (c1 < 0xD800 || 0xDFFF < c1) {
+                it[from++] = (byte) (c1 >> 12 | 0xE0);
+                it[from++] = (byte) (c1 >> 6 & 0x3F | 0x80);
+                it[from++] = (byte) (c1 & 0x3F | 0x80);
+            }
+
+            // U+10000 ~ U+10FFFF
+            else {
+                if (c1 > 0xDBFF ||
+                    start == offset) {
+                    it[from++] = '?';
+                    continue;
+                }
+
+                char c2 = source[start++];
+                if (c2 < 0xDC00 ||
+                    c2 > 0xDFFF) {
+                    it[from++] = '?';
+                    continue;
+                }
+
+                int hi = c1 - 0xD7C0;
+                int lo = c2 - 0xDC00;
+
+                it[from++] = (byte) (hi >> 8 | 0xF0);
+                it[from++] = (byte) (hi >> 2 & 0x3F | 0x80);
+                it[from++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
+                it[from++] = (byte) (lo & 0x3F | 0x80);
+            }
+        }
+
+        i = 0;
+        l = from;
+        return start;
+    }
+
+    /**
+     * Encode the source as UTF-8 and writes it to {@link Flow#v}
+     * until the source is exhausted or {@link Flow#v} is full,
+     * then sets {@link Flow#i} to zero and {@link Flow#l} to the size
+     *
+     * @param source the specified source
+     * @param start  the start index of specified source, inclusive
+     * @param offset the offset index of specified source, exclusive
+     * @return the index of specified source where the encoding stopped
+     */
+    protected int fill(
+        CharSequence source, int start, int offset
+    ) {
+        int from = 0;
+        byte[] it = v;
+
+        // ASCII run
+        int bound = offset - start;
+        if (bound > it.length) {
+            bound = it.length;
+        }
+        for (bound += start; start < bound; ) {
+            char c = source.charAt(start);
+            if (c < 0x80) {
+                start++;
+                it[from++] = (byte) c;
+            } else {
+                break;
+            }
+        }
+
+        int limit = it.length - 3;
+        while (start < offset && from < limit) {
+            char c1 = source.charAt(start++);
+
+            // U+0000 ~ U+007F
+            if (c1 < 0x80) {
+                it[from++] = (byte) c1;
+            }
+
+            // U+0080 ~ U+07FF
+            else if (c1 < 0x800) {
+                it[from++] = (byte) (c1 >> 6 | 0xC0);
+                it[from++] = (byte) (c1 & 0x3F | 0x80);
+            }
+
+            // U+0800 ~ U+D7FF
+            // U+E000 ~ U+FFFF
+            else if (c1 < 0xD800 || 0xDFFF < c1) {
+                it[from++] = (byte) (c1 >> 12 | 0xE0);
+                it[from++] = (byte) (c1 >> 6 & 0x3F | 0x80);
+                it[from++] = (byte) (c1 & 0x3F | 0x80);
+            }
+
+            // U+10000 ~ U+10FFFF
+            else {
+                if (c1 > 0xDBFF ||
+                    start == offset) {
+                    it[from++] = '?';
+                    continue;
+                }
+
+                char c2 = source.charAt(start++);
+                if (c2 < 0xDC00 ||
+                    c2 > 0xDFFF) {
+                    it[from++] = '?';
+                    continue;
+                }
+
+                int hi = c1 - 0xD7C0;
+                int lo = c2 - 0xDC00;
+
+                it[from++] = (byte) (hi >> 8 | 0xF0);
+                it[from++] = (byte) (hi >> 2 & 0x3F | 0x80);
+                it[from++] = (byte) (lo >> 6 | hi << 4 & 0x30 | 0x80);
+                it[from++] = (byte) (lo & 0x3F | 0x80);
+            }
+        }
+
+        i = 0;
+        l = from;
+        return start;
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.lang;
+
+import java.util.concurrent.atomic.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A bounded lock-free cache of decoded strings, keyed on the
+ * bytes and hash of {@link Binary}. The table is 4-way set associative,
+ * each set is evicted by a clock over the referenced bits of its entries
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class KatCache {
+    /**
+     * The cache of keys, shared by map keys and
+     * the key spares, see {@code katplus.cache.capacity}
+     */
+    public static final KatCache
+        KEYS = new KatCache(CACHE_CAPACITY, 64);
+
+    private final int mask, limit;
+    private final AtomicReferenceArray<Entry> table;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a cache with the specified capacity and limit
+     *
+     * @param capacity the specified capacity, must be a power of 2 and not less than 4
+     * @param limit    the specified max length of the cached bytes
+     * @throws IllegalArgumentException If the capacity is not a power of 2
+     */
+    public KatCache(
+        int capacity, int limit
+    ) {
+        if (capacity >= 4 &&
+            (capacity & (capacity - 1)) == 0) {
+            this.limit = limit;
+            this.mask = capacity - 4;
+            this.table = new AtomicReferenceArray<>(capacity);
+        } else {
+            throw new IllegalArgumentException(
+                "Received " + capacity + " is not a power of two"
+            );
+        }
+    }
+
+    /**
+     * Returns the decoded string of the specified binary,
+     * which is shared with previous calls of the same bytes
+     *
+     * @param bin the specified binary to be decoded
+     */
+    public String apply(
+        Binary bin
+    ) {
+        int size = bin.size;
+        if (size == 0) {
+            return "";
+        }
+
+        byte[] value = bin.value;
+        if (size > limit) {
+            return new String(
+                value, 0, size, UTF_8
+            );
+        }
+
+        int hash = bin.hashCode();
+        int base = (hash ^ hash >>> 16) << 2 & mask;
+
+        AtomicReferenceArray<Entry> tab = table;
+        for (int i = 0; i < 4; i++) {
+            Entry e = tab.get(base + i);
+            if (e != null &&
+                e.hash == hash &&
+                e.equals(value, size)) {
+                if (!e.used) {
+                    e.used = true;
+                }
+                hits.increment();
+                return e.text;
+            }
+        }
+
+        misses.increment();
+        Entry entry = new Entry(
+            hash, value, size
+        );
+
+        // clock within the set
+        for (int n = 0; n < 8; n++) {
+            int i = base + (n & 3);
+            Entry e = tab.get(i);
+            if (e == null || !e.used) {
+                if (tab.compareAndSet(i, e, entry)) {
+                    return entry.text;
+                }
+            } else {
+                e.used = false;
+            }
+        }
+
+        tab.set(base, entry);
+        return entry.text;
+    }
+
+    /**
+     * Returns the number of entries in this cache
+     */
+    public int size() {
+        int n = 0;
+        AtomicReferenceArray<Entry> tab = table;
+        for (int i = 0, l = tab.length(); i < l; i++) {
+            if (tab.get(i) != null) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the capacity of this cache
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the number of lookups served by this cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that decoded a new string
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to all lookups, or 0 if none
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long t = h + misses.sum();
+        return t == 0 ? 0D : (double) h / t;
+    }
+
+    /**
+     * Removes all entries and resets the counters
+     */
+    public void clear() {
+        AtomicReferenceArray<Entry> tab = table;
+        for (int i = 0, l = tab.length(); i < l; i++) {
+            tab.set(i, null);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Entry {
+
+        final int hash;
+        final byte[] flow;
+        final String text;
+        boolean used;
+
+        Entry(
+            int hash, byte[] value, int size
+        ) {
+            byte[] flow = new byte[size];
+            System.arraycopy(
+                value, 0, flow, 0, size
+            );
+            this.hash = hash;
+            this.flow = flow;
+            this.text = new String(
+                flow, 0, size, UTF_8
+            );
+        }
+
+        boolean equals(
+            byte[] value, int size
+        ) {
+            byte[] it = flow;
+            if (it.length != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (it[i] != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
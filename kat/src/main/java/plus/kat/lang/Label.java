@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.lang;
+
+import plus.kat.actor.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static plus.kat.lang.Uniform.UPPER;
+
+/**
+ * An immutable property name, encoded once in UTF-8 so that
+ * writers can copy the bytes instead of escaping the name each time
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Label extends Binary {
+
+    private final String text;
+    private final boolean plain;
+    private final byte[] unicode;
+
+    /**
+     * Constructs a label with the specified name
+     *
+     * @param text the specified name of label
+     * @throws NullPointerException If the specified text is null
+     */
+    public Label(
+        @NotNull String text
+    ) {
+        super(
+            text.getBytes(UTF_8)
+        );
+        this.text = text;
+
+        int ascii = 0;
+        boolean plain = true;
+        byte[] it = value;
+        for (int i = 0; i < size; i++) {
+            byte b = it[i];
+            if (b < 0) {
+                continue;
+            }
+            ascii++;
+            if (b != '_' &&
+                (b < '0' || b > '9') &&
+                (b < 'a' || b > 'z') &&
+                (b < 'A' || b > 'Z')) {
+                plain = false;
+                break;
+            }
+        }
+
+        this.plain = plain;
+        if (!plain) {
+            unicode = null;
+        } else if (ascii == size) {
+            unicode = it;
+        } else {
+            int l = text.length();
+            byte[] hex = UPPER;
+            byte[] bin = new byte[ascii + (l - ascii) * 6];
+            for (int i = 0, n = 0; i < l; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    bin[n++] = (byte) c;
+                } else {
+                    bin[n++] = '\\';
+                    bin[n++] = 'u';
+                    bin[n++] = hex[c >> 12 & 0x0F];
+                    bin[n++] = hex[c >> 8 & 0x0F];
+                    bin[n++] = hex[c >> 4 & 0x0F];
+                    bin[n++] = hex[c & 0x0F];
+                }
+            }
+            unicode = bin;
+        }
+    }
+
+    /**
+     * Returns true if this label only consists of {@code [A-Za-z0-9_]}
+     * and non-ascii chars, whose bytes no writer needs to escape
+     */
+    public boolean isPlain() {
+        return plain;
+    }
+
+    /**
+     * Returns the pre-encoded bytes of this plain label, where each
+     * non-ascii char is written as a unicode escape, or {@code null}
+     * if this label is not plain, see {@link #isPlain()}
+     */
+    @Nullable
+    public byte[] unicode() {
+        return unicode;
+    }
+
+    /**
+     * Returns the name of this label
+     */
+    @NotNull
+    @Override
+    public String toString() {
+        return text;
+    }
+}
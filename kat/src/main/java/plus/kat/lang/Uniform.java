@@ -101,18 +101,52 @@ public final class Uniform {
     public static final int VALUE_CAPACITY =
         getProperty("katplus.value.capacity", 8192);
 
+    public static final String BUFFER_MODE =
+        getProperty("katplus.buffer.mode", "striped");
+
     public static final int PARSER_GROUP =
-        getProperty("katplus.parser.group", 16);
+        getProperty("katplus.parser.group", stripes(16));
 
     public static final int STREAM_GROUP =
-        getProperty("katplus.stream.group", 8);
+        getProperty("katplus.stream.group", stripes(8));
     public static final int STREAM_CAPACITY =
         getProperty("katplus.stream.capacity", 8192);
+    public static final int STREAM_CHUNK =
+        getProperty("katplus.stream.chunk", 4096);
+    public static final int STREAM_LIMIT =
+        getProperty("katplus.stream.limit", 1 << 20);
+    public static final int STREAM_BUDGET =
+        getProperty("katplus.stream.budget", 1 << 24);
+
+    public static final int FLOW_INITIAL =
+        getProperty("katplus.flow.initial", 256);
+    public static final int FLOW_CAPACITY =
+        getProperty("katplus.flow.capacity", 65536);
+
+    public static final int CACHE_CAPACITY =
+        getProperty("katplus.cache.capacity", 1024);
 
     public static final int SUPPLIER_BUFFER =
         getProperty("katplus.supplier.buffer", 64);
     public static final int SUPPLIER_CAPACITY =
         getProperty("katplus.supplier.capacity", 64);
+    public static final int SUPPLIER_ABSENT =
+        getProperty("katplus.supplier.absent", 256);
+
+    /**
+     * Returns the power of 2 not less than the specified
+     * minimum and twice the number of available processors
+     *
+     * @param min the specified minimum, must be a power of 2
+     */
+    static int stripes(int min) {
+        int n = Runtime.getRuntime()
+            .availableProcessors() * 2;
+        if (n <= min) {
+            return min;
+        }
+        return Integer.highestOneBit(n - 1) << 1;
+    }
 
     /**
      * Returns the attribute indicated by the specified key
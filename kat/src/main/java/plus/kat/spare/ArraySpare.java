@@ -97,10 +97,21 @@ public class ArraySpare extends BeanSpare<Object> {
                 chan.set(null, elem);
             }
         } else {
-            for (int i = 0, m = Array.getLength(value); i < m; i++) {
-                chan.set(
-                    null, Array.get(value, i)
-                );
+            int m = Array.getLength(value);
+            Cursor cursor = Cursor.of(
+                chan.getContext(), value
+            );
+            if (cursor != null) {
+                for (int i = 0; i < m; i++) {
+                    cursor.index = i;
+                    chan.set(null, cursor, value);
+                }
+            } else {
+                for (int i = 0; i < m; i++) {
+                    chan.set(
+                        null, Array.get(value, i)
+                    );
+                }
             }
         }
     }
@@ -112,7 +123,7 @@ public class ArraySpare extends BeanSpare<Object> {
         if (type == null) {
             Class<?> e = elem;
             if (e.isPrimitive()) {
-                return new Builder0(e);
+                return primitive(e);
             } else {
                 return new Builder1(e);
             }
@@ -125,7 +136,7 @@ public class ArraySpare extends BeanSpare<Object> {
                 k = elem;
             }
             if (k.isPrimitive()) {
-                return new Builder0(k);
+                return primitive(k);
             } else {
                 return new Builder1(k);
             }
@@ -146,6 +157,30 @@ public class ArraySpare extends BeanSpare<Object> {
         return null;
     }
 
+    /**
+     * Returns the non-boxing builder of the specified primitive type
+     */
+    static Builder0 primitive(
+        @NotNull Class<?> elem
+    ) {
+        if (elem == int.class) {
+            return new IntBuilder();
+        }
+        if (elem == long.class) {
+            return new LongBuilder();
+        }
+        if (elem == double.class) {
+            return new DoubleBuilder();
+        }
+        if (elem == float.class) {
+            return new FloatBuilder();
+        }
+        if (elem == boolean.class) {
+            return new BooleanBuilder();
+        }
+        return new Builder0(elem);
+    }
+
     public static class Builder0 extends Builder<Object> {
 
         protected int size;
@@ -491,4 +526,256 @@ public class ArraySpare extends BeanSpare<Object> {
             target = null;
         }
     }
+
+    /**
+     * Decodes the elements straight into an {@code int[]}
+     */
+    public static class IntBuilder extends Builder0 {
+
+        public IntBuilder() {
+            super(int.class);
+        }
+
+        @Override
+        public void onNext(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value
+        ) throws IOException {
+            if (spare != IntSpare.INSTANCE) {
+                super.onNext(
+                    alias, space, value
+                );
+                return;
+            }
+            if (length == size) {
+                enlarge();
+            }
+            ((int[]) bean)[size++] = value.toInt(0);
+        }
+    }
+
+    /**
+     * Decodes the elements straight into a {@code long[]}
+     */
+    public static class LongBuilder extends Builder0 {
+
+        public LongBuilder() {
+            super(long.class);
+        }
+
+        @Override
+        public void onNext(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value
+        ) throws IOException {
+            if (spare != LongSpare.INSTANCE) {
+                super.onNext(
+                    alias, space, value
+                );
+                return;
+            }
+            if (length == size) {
+                enlarge();
+            }
+            ((long[]) bean)[size++] = value.toLong(0L);
+        }
+    }
+
+    /**
+     * Decodes the elements straight into a {@code double[]}
+     */
+    public static class DoubleBuilder extends Builder0 {
+
+        public DoubleBuilder() {
+            super(double.class);
+        }
+
+        @Override
+        public void onNext(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value
+        ) throws IOException {
+            if (spare != DoubleSpare.INSTANCE) {
+                super.onNext(
+                    alias, space, value
+                );
+                return;
+            }
+            if (length == size) {
+                enlarge();
+            }
+            ((double[]) bean)[size++] = value.toDouble(0D);
+        }
+    }
+
+    /**
+     * Decodes the elements straight into a {@code float[]}
+     */
+    public static class FloatBuilder extends Builder0 {
+
+        public FloatBuilder() {
+            super(float.class);
+        }
+
+        @Override
+        public void onNext(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value
+        ) throws IOException {
+            if (spare != FloatSpare.INSTANCE) {
+                super.onNext(
+                    alias, space, value
+                );
+                return;
+            }
+            if (length == size) {
+                enlarge();
+            }
+            ((float[]) bean)[size++] = value.toFloat(0F);
+        }
+    }
+
+    /**
+     * Decodes the elements straight into a {@code boolean[]}
+     */
+    public static class BooleanBuilder extends Builder0 {
+
+        public BooleanBuilder() {
+            super(boolean.class);
+        }
+
+        @Override
+        public void onNext(
+            @NotNull Alias alias,
+            @NotNull Space space,
+            @NotNull Value value
+        ) throws IOException {
+            if (spare != BooleanSpare.INSTANCE) {
+                super.onNext(
+                    alias, space, value
+                );
+                return;
+            }
+            if (length == size) {
+                enlarge();
+            }
+            ((boolean[]) bean)[size++] = value.toBoolean(false);
+        }
+    }
+
+    /**
+     * Encodes the element at the index of a primitive
+     * array by the spare of its wrapper, emitting the
+     * element without boxing if the spare is the default
+     */
+    static final class Cursor implements Coder<Object> {
+
+        int index;
+        final Object array;
+        final boolean plain;
+        final Coder<Object> coder;
+
+        Cursor(
+            Coder<?> coder,
+            Object array,
+            boolean plain
+        ) {
+            this.array = array;
+            this.plain = plain;
+            this.coder = (Coder<Object>) coder;
+        }
+
+        /**
+         * Returns the cursor of the specified primitive
+         * array or {@code null} if it's not supported
+         */
+        @Nullable
+        static Cursor of(
+            @NotNull Context context,
+            @NotNull Object array
+        ) {
+            Spare<?> base;
+            Class<?> kind;
+            if (array instanceof int[]) {
+                kind = Integer.class;
+                base = IntSpare.INSTANCE;
+            } else if (array instanceof long[]) {
+                kind = Long.class;
+                base = LongSpare.INSTANCE;
+            } else if (array instanceof double[]) {
+                kind = Double.class;
+                base = DoubleSpare.INSTANCE;
+            } else if (array instanceof float[]) {
+                kind = Float.class;
+                base = FloatSpare.INSTANCE;
+            } else if (array instanceof boolean[]) {
+                kind = Boolean.class;
+                base = BooleanSpare.INSTANCE;
+            } else {
+                return null;
+            }
+
+            Spare<?> spare = context.assign(kind);
+            if (spare == null) {
+                return null;
+            }
+            return new Cursor(
+                spare, array, spare == base
+            );
+        }
+
+        @Override
+        public String getSpace() {
+            return coder.getSpace();
+        }
+
+        @Override
+        public Boolean getScope() {
+            return coder.getScope();
+        }
+
+        @Override
+        public Border getBorder(
+            @NotNull Flag flag
+        ) {
+            return coder.getBorder(flag);
+        }
+
+        @Override
+        public void write(
+            @NotNull Flux flux,
+            @NotNull Object value
+        ) throws IOException {
+            Object data = array;
+            if (!plain) {
+                coder.write(
+                    flux, Array.get(data, index)
+                );
+            } else if (data instanceof int[]) {
+                flux.emit(
+                    ((int[]) data)[index]
+                );
+            } else if (data instanceof long[]) {
+                flux.emit(
+                    ((long[]) data)[index]
+                );
+            } else if (data instanceof double[]) {
+                flux.emit(
+                    ((double[]) data)[index]
+                );
+            } else if (data instanceof float[]) {
+                flux.emit(
+                    ((float[]) data)[index]
+                );
+            } else {
+                flux.emit(
+                    ((boolean[]) data)[index]
+                );
+            }
+        }
+    }
 }
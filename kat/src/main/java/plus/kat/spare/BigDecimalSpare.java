@@ -56,16 +56,7 @@ public class BigDecimalSpare extends BaseSpare<BigDecimal> {
             return null;
         }
 
-        if (value.size() < 20 &&
-            value.isDigits()) {
-            return valueOf(
-                value.toLong()
-            );
-        } else {
-            return new BigDecimal(
-                value.toLatin()
-            );
-        }
+        return value.toBigDecimal();
     }
 
     @Override
@@ -73,8 +64,8 @@ public class BigDecimalSpare extends BaseSpare<BigDecimal> {
         @NotNull Flux flux,
         @NotNull Object value
     ) throws IOException {
-        flux.emit(
-            value.toString()
+        NumberSpare.emit(
+            flux, (BigDecimal) value
         );
     }
 }
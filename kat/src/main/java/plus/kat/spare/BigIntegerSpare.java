@@ -73,8 +73,8 @@ public class BigIntegerSpare extends BaseSpare<BigInteger> {
         @NotNull Flux flux,
         @NotNull Object value
     ) throws IOException {
-        flux.emit(
-            value.toString()
+        NumberSpare.emit(
+            flux, (BigInteger) value
         );
     }
 }
@@ -105,4 +105,15 @@ public interface Context {
         @NotNull Type type,
         @Nullable Spare<?> spare
     );
+
+    /**
+     * Returns the stamp of the registrations, which changes
+     * whenever {@link #active(Type, Spare)} or {@link #revoke(Type, Spare)}
+     * changes them, a negative stamp means the spares may not be cached
+     *
+     * @see InlineCache
+     */
+    default int stamp() {
+        return -1;
+    }
 }
@@ -21,6 +21,9 @@ import plus.kat.chain.*;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author kraity
@@ -29,8 +32,12 @@ import java.lang.reflect.Method;
 @SuppressWarnings("unchecked")
 public class EnumSpare<T extends Enum<T>> extends BaseSpare<T> {
 
-    private byte[] names;
     private T[] enums;
+    private byte[][] codes;
+    private boolean[] plains;
+
+    private int seed, mask;
+    private int[] table;
     private final String space;
 
     public EnumSpare(
@@ -53,18 +60,97 @@ public class EnumSpare<T extends Enum<T>> extends BaseSpare<T> {
             if (size == 0) {
                 return;
             }
-            this.enums = beans;
-            this.names = new byte[size];
-            String name;
+            byte[][] bins = new byte[size][];
+            boolean[] flat = new boolean[size];
             for (int i = 0; i < size; i++) {
-                name = beans[i].name();
-                names[i] = (byte) name.charAt(0);
+                byte[] b = bins[i] = beans[i]
+                    .name().getBytes(UTF_8);
+                flat[i] = true;
+                for (byte w : b) {
+                    if (w != '_' &&
+                        (w < '0' || w > '9') &&
+                        (w < 'A' || w > 'Z') &&
+                        (w < 'a' || w > 'z')) {
+                        flat[i] = false;
+                        break;
+                    }
+                }
             }
+            this.enums = beans;
+            this.codes = bins;
+            this.plains = flat;
+            this.index(bins);
         } catch (ReflectiveOperationException e) {
             // Ignore this exception
         }
     }
 
+    /**
+     * Builds an open-addressing table over the encoded names,
+     * searching a seed that leaves no collision in the table
+     */
+    private void index(
+        byte[][] bins
+    ) {
+        int size = bins.length;
+        int cap = Integer.highestOneBit(
+            size * 2 - 1) << 1;
+
+        for (int c = cap; c <= cap << 2; c <<= 1) {
+            int m = c - 1;
+            int[] tab = new int[c];
+            for (int s = 0; s < 32; s++) {
+                fill:
+                {
+                    for (int i = 0; i < size; i++) {
+                        byte[] b = bins[i];
+                        int k = hash(
+                            s, b, b.length
+                        ) & m;
+                        if (tab[k] != 0) {
+                            Arrays.fill(tab, 0);
+                            break fill;
+                        }
+                        tab[k] = i + 1;
+                    }
+                    seed = s;
+                    mask = m;
+                    table = tab;
+                    return;
+                }
+            }
+        }
+
+        // fall back to linear probing
+        int m = cap - 1;
+        int[] tab = new int[cap];
+        for (int i = 0; i < size; i++) {
+            byte[] b = bins[i];
+            int k = hash(
+                0, b, b.length
+            ) & m;
+            while (tab[k] != 0) {
+                k = (k + 1) & m;
+            }
+            tab[k] = i + 1;
+        }
+        mask = m;
+        table = tab;
+    }
+
+    /**
+     * Returns the FNV-1a hash of the specified bytes with the seed
+     */
+    private static int hash(
+        int seed, byte[] v, int l
+    ) {
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = 0; i < l; i++) {
+            h = (h ^ v[i]) * 0x01000193;
+        }
+        return h ^ h >>> 16;
+    }
+
     @Override
     public T apply() {
         T[] e = enums;
@@ -96,7 +182,7 @@ public class EnumSpare<T extends Enum<T>> extends BaseSpare<T> {
             if (flag.isFlag(Flag.INDEX_AS_ENUM)) {
                 if (value.isDigits()) {
                     int i = value.toInt();
-                    if (i < e.length) {
+                    if (0 <= i && i < e.length) {
                         return e[i];
                     } else {
                         return null;
@@ -107,23 +193,21 @@ public class EnumSpare<T extends Enum<T>> extends BaseSpare<T> {
             int m = value.size();
             byte[] v = value.flow();
 
-            byte x = v[0];
-            byte[] ns = names;
+            int[] tab = table;
+            int k = hash(seed, v, m) & mask;
 
-            int max = e.length;
-            for (int i = 0; i < max; i++) {
+            byte[][] bins = codes;
+            for (int i; (i = tab[k]) != 0; k = (k + 1) & mask) {
                 check:
-                if (x == ns[i]) {
-                    T t = e[i];
-                    String n = t.name();
-                    if (m == n.length()) {
+                {
+                    byte[] b = bins[--i];
+                    if (b.length == m) {
                         for (int j = 0; j < m; j++) {
-                            if (n.charAt(j) !=
-                                (char) (v[j] & 0xFF)) {
+                            if (b[j] != v[j]) {
                                 break check;
                             }
                         }
-                        return t;
+                        return e[i];
                     }
                 }
             }
@@ -141,9 +225,18 @@ public class EnumSpare<T extends Enum<T>> extends BaseSpare<T> {
                 ((Enum<?>) value).ordinal()
             );
         } else {
-            flux.emit(
-                ((Enum<?>) value).name()
-            );
+            Enum<?> e = (Enum<?>) value;
+            int i = e.ordinal();
+            if (plains[i]) {
+                byte[] name = codes[i];
+                flux.join(
+                    name, 0, name.length
+                );
+            } else {
+                flux.emit(
+                    e.name()
+                );
+            }
         }
     }
 }
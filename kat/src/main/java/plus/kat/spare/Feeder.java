@@ -0,0 +1,616 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static plus.kat.Algo.*;
+import static plus.kat.flow.Stream.*;
+
+/**
+ * A push-style document framer, the chunks are fed as they arrive
+ * without blocking, the feeder tracks the nesting of the fed bytes
+ * and reports {@link #READY} once a whole document is buffered,
+ * which is then solved in one pass by {@link #poll()}
+ *
+ * <pre>{@code
+ *  Feeder<User> feeder = new Feeder<>(
+ *      Algo.JSON, Spare.of(User.class)
+ *  );
+ *  if (feeder.feed(chunk) == Feeder.READY) {
+ *      User user = feeder.poll();
+ *  }
+ * }</pre>
+ * <p>
+ * Concatenated documents are solved one by one, a document
+ * without brackets, such as a bare number, is ready only after
+ * {@link #finish()}. The chunks are copied into pooled segments
+ * of {@link plus.kat.flow.Stream#BUCKET}, not into one growing array
+ * <p>
+ * Note that this is not an incremental parser, the solvers are not
+ * resumable across {@link #feed(byte[])} calls, so nothing is decoded
+ * until a document is whole. Each byte is scanned twice, once here for
+ * the framing and once by the solver, and the memory held is
+ * O(document): a single huge document is buffered as fully as an
+ * aggregator would hold it. The gain is only for a stream of many
+ * documents, each one is released as soon as it is polled, and for
+ * the caller, which never blocks on input
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public class Feeder<T> implements Closeable {
+
+    public static final int NEED_MORE_INPUT = 0;
+    public static final int READY = 1;
+
+    protected final Algo algo;
+    protected final Type type;
+    protected final Spare<T> spare;
+
+    private byte[] tail;
+    private int limit, offset;
+    private long written, consumed;
+
+    private final ArrayDeque<byte[]>
+        segments = new ArrayDeque<>();
+    private final ArrayDeque<Long>
+        boundaries = new ArrayDeque<>();
+
+    private boolean ended;
+    private boolean pending;
+    private int depth, state, last;
+    private byte quote;
+
+    /**
+     * Constructs a feeder with the specified algo and spare
+     *
+     * @param algo  the specified algo of the fed bytes
+     * @param spare the specified spare to solve documents
+     * @throws NullPointerException If the algo or spare is null
+     */
+    public Feeder(
+        @NotNull Algo algo,
+        @NotNull Spare<T> spare
+    ) {
+        this(
+            algo, spare, null
+        );
+    }
+
+    /**
+     * Constructs a feeder with the specified algo, spare and type
+     *
+     * @param algo  the specified algo of the fed bytes
+     * @param spare the specified spare to solve documents
+     * @param type  the specified actual type of documents
+     * @throws NullPointerException If the algo or spare is null
+     */
+    public Feeder(
+        @NotNull Algo algo,
+        @NotNull Spare<T> spare,
+        @Nilable Type type
+    ) {
+        if (algo != null &&
+            spare != null) {
+            this.algo = algo;
+            this.type = type;
+            this.spare = spare;
+        } else {
+            throw new NullPointerException(
+                "Received: (" + algo + ", " + spare + ")"
+            );
+        }
+    }
+
+    /**
+     * Feeds the specified chunk, returns {@link #READY} if
+     * a whole document is buffered, otherwise {@link #NEED_MORE_INPUT}
+     *
+     * @param data the specified chunk to be fed
+     * @throws NullPointerException  If the data is null
+     * @throws IllegalStateException If {@link #finish()} has been called
+     */
+    public int feed(
+        @NotNull byte[] data
+    ) {
+        return feed(
+            data, 0, data.length
+        );
+    }
+
+    /**
+     * Feeds the specified chunk, returns {@link #READY} if
+     * a whole document is buffered, otherwise {@link #NEED_MORE_INPUT}
+     *
+     * @param data   the specified chunk to be fed
+     * @param index  the start index of the chunk
+     * @param length the specified length of the chunk
+     * @throws NullPointerException      If the data is null
+     * @throws IndexOutOfBoundsException If the index or length is out of range
+     * @throws IllegalStateException     If {@link #finish()} has been called
+     */
+    public int feed(
+        @NotNull byte[] data, int index, int length
+    ) {
+        if (index < 0 || length < 0 ||
+            index + length > data.length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            int n = reserve(length);
+            System.arraycopy(
+                data, index, tail, limit, n
+            );
+            index += n;
+            length -= n;
+            scan(limit, limit += n);
+        }
+        return boundaries.isEmpty() ? NEED_MORE_INPUT : READY;
+    }
+
+    /**
+     * Feeds the remaining bytes of the specified buffer, returns {@link #READY}
+     * if a whole document is buffered, otherwise {@link #NEED_MORE_INPUT}
+     *
+     * @param data the specified chunk to be fed
+     * @throws NullPointerException  If the data is null
+     * @throws IllegalStateException If {@link #finish()} has been called
+     */
+    public int feed(
+        @NotNull ByteBuffer data
+    ) {
+        int length = data.remaining();
+        while (length > 0) {
+            int n = reserve(length);
+            data.get(
+                tail, limit, n
+            );
+            length -= n;
+            scan(limit, limit += n);
+        }
+        return boundaries.isEmpty() ? NEED_MORE_INPUT : READY;
+    }
+
+    /**
+     * Marks the end of input, so that the trailing document
+     * without brackets becomes ready, returns {@link #READY} if
+     * a whole document is buffered, otherwise {@link #NEED_MORE_INPUT}
+     */
+    public int finish() {
+        if (!ended) {
+            ended = true;
+            if (pending) {
+                pending = false;
+                boundaries.add(written);
+            }
+        }
+        return boundaries.isEmpty() ? NEED_MORE_INPUT : READY;
+    }
+
+    /**
+     * Returns true if {@link #finish()} has been called
+     * and all fed documents have been polled
+     */
+    public boolean isDone() {
+        return ended && boundaries.isEmpty();
+    }
+
+    /**
+     * Solves the next whole document from the buffered segments,
+     * or returns {@code null} if no whole document is buffered
+     *
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    @Nullable
+    public T poll() throws IOException {
+        Long end = boundaries.poll();
+        if (end == null) {
+            return null;
+        }
+
+        try (Parser op = Parser.apply()) {
+            op.setType(type);
+            op.setSpare(spare);
+            return op.solve(
+                algo, new Tape(this, end)
+            );
+        } finally {
+            while (consumed < end) {
+                int n = advance(end);
+                offset += n;
+                consumed += n;
+            }
+            if (consumed == written) {
+                while (segments.size() > 1) {
+                    BUCKET.store(
+                        segments.poll()
+                    );
+                }
+                offset = limit = 0;
+            }
+        }
+    }
+
+    /**
+     * Releases the buffered segments of this {@link Feeder}
+     */
+    @Override
+    public void close() {
+        byte[] seg;
+        while ((seg = segments.poll()) != null) {
+            BUCKET.store(seg);
+        }
+        tail = null;
+        boundaries.clear();
+        limit = offset = 0;
+        consumed = written;
+    }
+
+    /**
+     * Ensures the tail segment has free space,
+     * returns the number of bytes that can be written
+     */
+    private int reserve(
+        int length
+    ) {
+        if (ended) {
+            throw new IllegalStateException(
+                "The input of this feeder has been finished"
+            );
+        }
+
+        byte[] seg = tail;
+        if (seg == null ||
+            seg.length == limit) {
+            limit = 0;
+            tail = seg = BUCKET.apply(
+                null, 0, 0
+            );
+            segments.add(seg);
+        }
+
+        int n = seg.length - limit;
+        return length < n ? length : n;
+    }
+
+    /**
+     * Returns the readable size of the head segment up to the
+     * specified end, the drained head segment is released first
+     */
+    private int advance(
+        long end
+    ) {
+        byte[] seg = segments.peek();
+        if (seg != tail &&
+            offset == seg.length) {
+            BUCKET.store(
+                segments.poll()
+            );
+            offset = 0;
+            seg = segments.peek();
+        }
+
+        int n = (seg == tail ?
+            limit : seg.length) - offset;
+        long m = end - consumed;
+        return m < n ? (int) m : n;
+    }
+
+    /**
+     * Tracks the nesting of the bytes just written
+     * into the tail segment and records the boundaries
+     */
+    private void scan(
+        int index, int length
+    ) {
+        byte[] it = tail;
+        long base = written - index;
+        written += length - index;
+
+        switch (algo.hashCode()) {
+            case doc: {
+                for (; index < length; index++) {
+                    if (markup(it[index])) {
+                        boundaries.add(
+                            base + index + 1
+                        );
+                    }
+                }
+                break;
+            }
+            default: {
+                boolean flag = algo.hashCode() == kat;
+                for (; index < length; index++) {
+                    if (bracket(it[index], flag)) {
+                        boundaries.add(
+                            base + index + 1
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the byte closes the outermost bracket
+     */
+    private boolean bracket(
+        byte w, boolean flag
+    ) {
+        switch (state) {
+            case 0: {
+                switch (w) {
+                    case 0x09:
+                    case 0x0A:
+                    case 0x0D:
+                    case 0x20: {
+                        return false;
+                    }
+                    case 0x7B:
+                    case 0x5B: {
+                        depth++;
+                        break;
+                    }
+                    case 0x7D:
+                    case 0x5D: {
+                        if (--depth <= 0) {
+                            depth = 0;
+                            pending = false;
+                            return true;
+                        }
+                        return false;
+                    }
+                    case 0x22: {
+                        state = 1;
+                        quote = w;
+                        break;
+                    }
+                    case 0x27: {
+                        if (flag) {
+                            state = 1;
+                            quote = w;
+                        }
+                        break;
+                    }
+                    case 0x23: {
+                        if (flag) {
+                            state = 3;
+                            return false;
+                        }
+                        break;
+                    }
+                    case 0x5C: {
+                        state = 2;
+                        break;
+                    }
+                }
+                pending = true;
+                return false;
+            }
+            case 1: {
+                if (w == quote) {
+                    state = 0;
+                } else if (w == 0x5C) {
+                    state = 4;
+                }
+                return false;
+            }
+            case 2: {
+                state = 0;
+                return false;
+            }
+            case 3: {
+                switch (w) {
+                    case 0x0A:
+                    case 0x0D:
+                    case 0x23: {
+                        state = 0;
+                    }
+                }
+                return false;
+            }
+            default: {
+                state = 1;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the byte closes the root element
+     */
+    private boolean markup(
+        byte w
+    ) {
+        int prev = last;
+        last = last << 8 | (w & 0xFF);
+        switch (state) {
+            case 0: {
+                if (w == '<') {
+                    state = 1;
+                    pending = true;
+                } else if (w > 0x20) {
+                    pending = true;
+                }
+                return false;
+            }
+            // <
+            case 1: {
+                switch (w) {
+                    case '/': {
+                        state = 3;
+                        break;
+                    }
+                    case '?': {
+                        state = 4;
+                        break;
+                    }
+                    case '!': {
+                        state = 5;
+                        break;
+                    }
+                    default: {
+                        state = 2;
+                    }
+                }
+                return false;
+            }
+            // <tag ...
+            case 2: {
+                switch (w) {
+                    case '"':
+                    case '\'': {
+                        quote = w;
+                        state = 9;
+                        return false;
+                    }
+                    case '>': {
+                        state = 0;
+                        if ((prev & 0xFF) != '/') {
+                            depth++;
+                            return false;
+                        }
+                        if (depth == 0) {
+                            pending = false;
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            // </tag>
+            case 3: {
+                if (w == '>') {
+                    state = 0;
+                    if (--depth <= 0) {
+                        depth = 0;
+                        pending = false;
+                        return true;
+                    }
+                }
+                return false;
+            }
+            // <? ... ?>
+            case 4: {
+                if (w == '>' &&
+                    (prev & 0xFF) == '?') {
+                    state = 0;
+                }
+                return false;
+            }
+            // <!
+            case 5: {
+                switch (w) {
+                    case '-': {
+                        state = 6;
+                        break;
+                    }
+                    case '[': {
+                        state = 7;
+                        break;
+                    }
+                    default: {
+                        state = 8;
+                    }
+                }
+                return false;
+            }
+            // <!-- ... -->
+            case 6: {
+                if (w == '>' &&
+                    (prev & 0xFFFF) == 0x2D2D &&
+                    (last & 0xFFFFFF00) != 0x212D2D00) {
+                    state = 0;
+                }
+                return false;
+            }
+            // <![CDATA[ ... ]]>
+            case 7: {
+                if (w == '>' &&
+                    (prev & 0xFFFF) == 0x5D5D) {
+                    state = 0;
+                }
+                return false;
+            }
+            // <!DOCTYPE ... >
+            case 8: {
+                if (w == '>') {
+                    state = 0;
+                }
+                return false;
+            }
+            // "..." in tag
+            default: {
+                if (w == quote) {
+                    state = 2;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Tape extends Flow {
+
+        private final long end;
+        private Feeder<?> feeder;
+
+        Tape(
+            Feeder<?> feeder, long end
+        ) {
+            this.end = end;
+            this.feeder = feeder;
+        }
+
+        @Override
+        public int load() {
+            Feeder<?> fe = feeder;
+            if (fe == null ||
+                fe.consumed >= end) {
+                return l = -1;
+            }
+
+            int n = fe.advance(end);
+            v = fe.segments.peek();
+            i = fe.offset;
+            fe.offset += n;
+            fe.consumed += n;
+            return l = i + n;
+        }
+
+        @Override
+        public void close() {
+            feeder = null;
+            super.close();
+        }
+
+        @Override
+        public String toString() {
+            return "Feeder.Tape(" + end + ")";
+        }
+    }
+}
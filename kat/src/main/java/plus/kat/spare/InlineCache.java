@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.actor.*;
+
+import plus.kat.*;
+
+import java.util.*;
+
+/**
+ * A small inline cache of the last few classes of values to
+ * their spares for a single writer, including the fallback
+ * decisions when the context has no spare of the class
+ * <p>
+ * The cache is dropped as soon as the {@link Context#stamp()} changes,
+ * and is bypassed if the stamp is negative. It is not thread-safe
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class InlineCache {
+
+    /**
+     * The number of entries, a power of two
+     */
+    public static final int SIZE = 4;
+
+    private int stamp = -1;
+    private int index;
+
+    private final Context context;
+    private final Class<?>[] types = new Class<?>[SIZE];
+    private final Spare<?>[] spares = new Spare<?>[SIZE];
+
+    /**
+     * Constructs a cache of the specified context
+     *
+     * @param context the specified context
+     * @throws NullPointerException If the specified context is null
+     */
+    public InlineCache(
+        @NotNull Context context
+    ) {
+        if (context != null) {
+            this.context = context;
+        } else {
+            throw new NullPointerException(
+                "Received context is null"
+            );
+        }
+    }
+
+    /**
+     * Returns the spare of the specified class, or {@code null}
+     * if the value is an {@link Entity} or has to be converted by
+     * {@link ObjectSpare#write(Chan, Object, Object)}
+     *
+     * @param clazz the specified class of value
+     * @throws IllegalStateException If the specified class is disabled
+     */
+    @Nullable
+    public Spare<?> assign(
+        @NotNull Class<?> clazz
+    ) {
+        int s = context.stamp();
+        Class<?>[] ts = types;
+        if (s == stamp) {
+            for (int i = 0; i < SIZE; i++) {
+                if (ts[i] == clazz) {
+                    return spares[i];
+                }
+            }
+        } else {
+            stamp = s;
+            index = 0;
+            Arrays.fill(ts, null);
+            Arrays.fill(spares, null);
+        }
+
+        Spare<?> spare = search(
+            context, clazz
+        );
+        if (s >= 0) {
+            int i = index;
+            ts[i] = clazz;
+            spares[i] = spare;
+            index = (i + 1) & (SIZE - 1);
+        }
+        return spare;
+    }
+
+    /**
+     * Returns the spare of the specified class in the specified
+     * context, otherwise the fallback spare or {@code null}
+     *
+     * @param context the specified context
+     * @param clazz   the specified class of value
+     */
+    @Nullable
+    public static Spare<?> search(
+        @NotNull Context context,
+        @NotNull Class<?> clazz
+    ) {
+        Spare<?> spare =
+            context.assign(clazz);
+        if (spare != null) {
+            return spare;
+        }
+
+        if (Map.class.isAssignableFrom(clazz)) {
+            return MapSpare.INSTANCE;
+        }
+        if (Set.class.isAssignableFrom(clazz)) {
+            return SetSpare.INSTANCE;
+        }
+        if (List.class.isAssignableFrom(clazz)) {
+            return ListSpare.INSTANCE;
+        }
+        if (Entity.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        return ObjectSpare.lookup(clazz);
+    }
+}
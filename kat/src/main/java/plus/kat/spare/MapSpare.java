@@ -232,7 +232,7 @@ public class MapSpare extends BeanSpare<Map> {
             }
 
             if ((spare = keySpace) == null) {
-                name = alias.toString();
+                name = alias.toKey();
             } else {
                 name = spare.read(this, alias);
             }
@@ -295,7 +295,7 @@ public class MapSpare extends BeanSpare<Map> {
             Object data = spare.read(this, value);
             if ((spare = keySpace) == null) {
                 onNext(
-                    alias.toString(), data
+                    alias.toKey(), data
                 );
             } else {
                 onNext(
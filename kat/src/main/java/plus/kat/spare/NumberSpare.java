@@ -20,6 +20,8 @@ import plus.kat.actor.*;
 import plus.kat.chain.*;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * @author kraity
@@ -76,10 +78,98 @@ public class NumberSpare extends BaseSpare<Number> {
             flux.emit(
                 ((Short) value).intValue()
             );
+        } else if (value instanceof BigDecimal) {
+            emit(
+                flux, (BigDecimal) value
+            );
+        } else if (value instanceof BigInteger) {
+            emit(
+                flux, (BigInteger) value
+            );
         } else if (value instanceof Number) {
             flux.emit(
                 value.toString()
             );
         }
     }
+
+    /**
+     * Writes the specified integer as {@link BigInteger#toString()},
+     * without the string if it fits in a long
+     *
+     * @param flux  the specified flux
+     * @param value the specified integer
+     * @throws IOException If an I/O error occurs
+     */
+    static void emit(
+        @NotNull Flux flux,
+        @NotNull BigInteger value
+    ) throws IOException {
+        if (value.bitLength() < 64) {
+            flux.emit(
+                value.longValue()
+            );
+        } else {
+            flux.emit(
+                value.toString()
+            );
+        }
+    }
+
+    /**
+     * Writes the specified decimal as {@link BigDecimal#toString()},
+     * without the string if its unscaled value fits in a long
+     * and it is in the plain notation
+     *
+     * @param flux  the specified flux
+     * @param value the specified decimal
+     * @throws IOException If an I/O error occurs
+     */
+    static void emit(
+        @NotNull Flux flux,
+        @NotNull BigDecimal value
+    ) throws IOException {
+        int scale = value.scale();
+        int prec = value.precision();
+        if (scale < 0 || prec > 18 ||
+            prec - scale < -5) {
+            flux.emit(
+                value.toString()
+            );
+            return;
+        }
+
+        long unscaled = value
+            .unscaledValue().longValue();
+        if (scale == 0) {
+            flux.emit(unscaled);
+            return;
+        }
+
+        if (unscaled < 0) {
+            flux.emit('-');
+            unscaled = -unscaled;
+        }
+
+        long frac;
+        if (scale >= prec) {
+            frac = unscaled;
+            flux.emit('0');
+        } else {
+            long p = 10;
+            for (int i = 1; i < scale; i++) p *= 10;
+            frac = unscaled % p;
+            flux.emit(unscaled / p);
+        }
+
+        flux.emit('.');
+        int n = frac == 0 ? 0 : 1;
+        for (long f = frac; f > 9; f /= 10) n++;
+        for (; n < scale; n++) {
+            flux.emit('0');
+        }
+        if (frac != 0) {
+            flux.emit(frac);
+        }
+    }
 }
@@ -176,82 +176,88 @@ public class ObjectSpare extends BaseSpare<Object> {
     public static boolean write(
         Chan chan, Object alias, Object value
     ) throws IOException {
-        if (value instanceof Iterable ||
-            value instanceof Iterator) {
+        Spare<?> spare = lookup(
+            value.getClass()
+        );
+        if (spare != null) {
             return chan.set(
-                alias, ListSpare.INSTANCE, value
+                alias, spare, value
             );
         }
 
-        if (value instanceof CharSequence) {
+        // Subclass of Charset
+        if (value instanceof Charset) {
+            Charset o = (Charset) value;
             return chan.set(
-                alias, StringifySpare.INSTANCE, value
+                alias, StringSpare.INSTANCE, o.name()
             );
         }
 
-        if (value instanceof ByteSequence) {
+        if (value instanceof UUID ||
+            value instanceof Throwable) {
             return chan.set(
-                alias, BinaryifySpare.INSTANCE, value
+                alias, StringSpare.INSTANCE, value.toString()
             );
         }
 
+        throw new IOException(
+            "No available coder for `"
+                + value.getClass() + "` was found"
+        );
+    }
+
+    /**
+     * Returns the fallback spare of the specified class,
+     * or {@code null} if the value has to be converted
+     *
+     * @param clazz the specified class of value
+     */
+    @Nullable
+    public static Spare<?> lookup(
+        @NotNull Class<?> clazz
+    ) {
+        if (Iterable.class.isAssignableFrom(clazz) ||
+            Iterator.class.isAssignableFrom(clazz)) {
+            return ListSpare.INSTANCE;
+        }
+
+        if (CharSequence.class.isAssignableFrom(clazz)) {
+            return StringifySpare.INSTANCE;
+        }
+
+        if (ByteSequence.class.isAssignableFrom(clazz)) {
+            return BinaryifySpare.INSTANCE;
+        }
+
         // Subclass of Date
         // java.sql.Date
         // java.sql.Time
         // java.sql.Timestamp
-        if (value instanceof Date) {
-            return chan.set(
-                alias, DateSpare.INSTANCE, value
-            );
+        if (Date.class.isAssignableFrom(clazz)) {
+            return DateSpare.INSTANCE;
         }
 
         // Subclass of File
-        if (value instanceof File) {
-            return chan.set(
-                alias, FileSpare.INSTANCE, value
-            );
+        if (File.class.isAssignableFrom(clazz)) {
+            return FileSpare.INSTANCE;
         }
 
         // Subclass of Number
-        if (value instanceof Number) {
-            return chan.set(
-                alias, NumberSpare.INSTANCE, value
-            );
-        }
-
-        // Subclass of Charset
-        if (value instanceof Charset) {
-            Charset o = (Charset) value;
-            return chan.set(
-                alias, StringSpare.INSTANCE, o.name()
-            );
+        if (Number.class.isAssignableFrom(clazz)) {
+            return NumberSpare.INSTANCE;
         }
 
         // Subclass of TimeZone
         // java.util.SimpleTimeZone
         // sun.util.calendar.ZoneInfo
-        if (value instanceof TimeZone) {
-            return chan.set(
-                alias, TimeZoneSpare.INSTANCE, value
-            );
+        if (TimeZone.class.isAssignableFrom(clazz)) {
+            return TimeZoneSpare.INSTANCE;
         }
 
-        if (value instanceof Calendar) {
-            return chan.set(
-                alias, CalendarSpare.INSTANCE, value
-            );
-        }
-
-        if (value instanceof UUID ||
-            value instanceof Throwable) {
-            return chan.set(
-                alias, StringSpare.INSTANCE, value.toString()
-            );
+        if (Calendar.class.isAssignableFrom(clazz)) {
+            return CalendarSpare.INSTANCE;
         }
 
-        throw new IOException(
-            "No available coder for `"
-                + value.getClass() + "` was found"
-        );
+        return null;
     }
 }
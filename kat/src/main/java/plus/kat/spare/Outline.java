@@ -0,0 +1,702 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static plus.kat.lang.Uniform.*;
+
+/**
+ * A lazy view of a document, one pass of the solver records the
+ * structure on a compact tape, the names and values are decoded
+ * only when they are accessed
+ *
+ * <pre>{@code
+ *  Outline root = Outline.of(
+ *      Algo.JSON, Flow.of(text)
+ *  );
+ *  long id = root.get("user").get("id").toLong();
+ *  String sku = root.get("items").get(0).get("sku").toString();
+ * }</pre>
+ * <p>
+ * The tape holds six ints per node, see {@link #KIND} and so on,
+ * and the decoded bytes of names and values are kept in a single
+ * array, so no map, list or string is built while solving
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Outline implements Entity {
+
+    public static final int VALUE = 0;
+    public static final int TEXT = 1;
+    public static final int OBJECT = 2;
+    public static final int ARRAY = 3;
+
+    static final int KIND = 0, KEY = 1, KEY_LEN = 2,
+        VAL = 3, VAL_LEN = 4, NEXT = 5, STRIDE = 6;
+
+    static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+        1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final int pos;
+    private final int[] tape;
+    private final byte[] data;
+
+    /**
+     * Constructs an outline of the node at the specified position
+     */
+    Outline(
+        int pos,
+        int[] tape,
+        byte[] data
+    ) {
+        this.pos = pos;
+        this.tape = tape;
+        this.data = data;
+    }
+
+    /**
+     * Solves the specified flow and returns
+     * the outline of its root, or null if it is empty
+     *
+     * @param algo the specified algo of flow
+     * @param flow the specified flow to be solved
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    @Nullable
+    public static Outline of(
+        @NotNull Algo algo,
+        @NotNull Flow flow
+    ) throws IOException {
+        Tape tape = new Tape();
+        try (Parser op = Parser.apply()) {
+            op.solve(
+                algo, flow, tape
+            );
+        }
+        if (tape.top == 0) {
+            return null;
+        }
+        return new Outline(
+            0, tape.tape, tape.data
+        );
+    }
+
+    /**
+     * Returns the kind of this node, such as {@link #OBJECT}
+     */
+    public int kind() {
+        return tape[pos + KIND];
+    }
+
+    /**
+     * Returns true if this node is an object
+     */
+    public boolean isObject() {
+        return tape[pos + KIND] == OBJECT;
+    }
+
+    /**
+     * Returns true if this node is an array
+     */
+    public boolean isArray() {
+        return tape[pos + KIND] == ARRAY;
+    }
+
+    /**
+     * Returns true if this node is a bare {@code null}
+     */
+    public boolean isNull() {
+        int[] t = tape;
+        int p = pos;
+        if (t[p + KIND] == VALUE &&
+            t[p + VAL_LEN] == 4) {
+            int i = t[p + VAL];
+            byte[] d = data;
+            return d[i] == 'n'
+                && d[i + 1] == 'u'
+                && d[i + 2] == 'l'
+                && d[i + 3] == 'l';
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name of this node, or null if it has no name
+     */
+    @Nullable
+    public String getKey() {
+        int[] t = tape;
+        int l = t[pos + KEY_LEN];
+        if (l == 0) {
+            return null;
+        }
+        return new String(
+            data, t[pos + KEY], l, UTF_8
+        );
+    }
+
+    /**
+     * Returns the number of children of this node
+     */
+    public int size() {
+        int[] t = tape;
+        int p = pos, n = 0;
+        if (t[p + KIND] > TEXT) {
+            int e = t[p + NEXT];
+            for (p += STRIDE; p < e; p = t[p + NEXT]) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the child at the specified index, or null if not found
+     *
+     * @param index the specified index of child
+     */
+    @Nullable
+    public Outline get(
+        int index
+    ) {
+        int[] t = tape;
+        int p = pos;
+        if (index >= 0 &&
+            t[p + KIND] > TEXT) {
+            int e = t[p + NEXT];
+            for (p += STRIDE; p < e; p = t[p + NEXT]) {
+                if (index-- == 0) {
+                    return new Outline(
+                        p, t, data
+                    );
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first child with the specified name, or null if not found
+     *
+     * @param name the specified name of child
+     */
+    @Nullable
+    public Outline get(
+        @NotNull String name
+    ) {
+        int[] t = tape;
+        int p = pos;
+        if (t[p + KIND] > TEXT) {
+            byte[] b = name.getBytes(UTF_8);
+            int e = t[p + NEXT];
+            for (p += STRIDE; p < e; p = t[p + NEXT]) {
+                if (match(p, b)) {
+                    return new Outline(
+                        p, t, data
+                    );
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the name of the node at the specified position is the bytes
+     */
+    private boolean match(
+        int p, byte[] b
+    ) {
+        int l = b.length;
+        if (tape[p + KEY_LEN] != l) {
+            return false;
+        }
+        byte[] d = data;
+        int o = tape[p + KEY];
+        for (int i = 0; i < l; i++) {
+            if (d[o + i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a value of the bytes of this node
+     */
+    private Value value() {
+        int[] t = tape;
+        int l = t[pos + VAL_LEN];
+        byte[] b = new byte[l];
+        System.arraycopy(
+            data, t[pos + VAL], b, 0, l
+        );
+        return new Value(l, b);
+    }
+
+    /**
+     * Parses the bytes of this node in place as a plain decimal
+     * integer shorter than the specified length, such as {@code -12},
+     * or returns {@link Long#MIN_VALUE} if the bytes are of any other form
+     */
+    private long digits(int max) {
+        int[] t = tape;
+        int i = t[pos + VAL],
+            l = t[pos + VAL_LEN];
+        if (l == 0 || l >= max) {
+            return Long.MIN_VALUE;
+        }
+
+        byte[] d = data;
+        int e = i + l;
+        boolean neg = false;
+        if (d[i] == '-') {
+            i++;
+            neg = true;
+        } else if (d[i] == '+') {
+            i++;
+        }
+
+        // a leading zero is octal or hex
+        if (i == e || (d[i] == '0' && i + 1 != e)) {
+            return Long.MIN_VALUE;
+        }
+
+        long n = 0;
+        while (i < e) {
+            int c = d[i++] - '0';
+            if (c < 0 || c > 9) {
+                return Long.MIN_VALUE;
+            }
+            n = n * 10 + c;
+        }
+        return neg ? -n : n;
+    }
+
+    /**
+     * Parses the bytes of this node in place as a plain decimal
+     * of at most 15 digits, such as {@code -1.25}, which is exact,
+     * or returns {@link Double#NaN} if the bytes are of any other form
+     */
+    private double decimal() {
+        int[] t = tape;
+        int i = t[pos + VAL],
+            l = t[pos + VAL_LEN];
+        if (l == 0 || l > 17) {
+            return Double.NaN;
+        }
+
+        byte[] d = data;
+        int e = i + l;
+        boolean neg = false;
+        if (d[i] == '-') {
+            i++;
+            neg = true;
+        } else if (d[i] == '+') {
+            i++;
+        }
+
+        // a leading zero is octal or hex
+        if (i == e || (d[i] == '0' && i + 1 != e && d[i + 1] != '.')) {
+            return Double.NaN;
+        }
+
+        long n = 0;
+        int k = -1, m = 0;
+        while (i < e) {
+            int c = d[i++];
+            if (c == '.') {
+                if (k != -1 || i == e) {
+                    return Double.NaN;
+                }
+                k = 0;
+                continue;
+            }
+            c -= '0';
+            if (c < 0 || c > 9 || ++m > 15) {
+                return Double.NaN;
+            }
+            n = n * 10 + c;
+            if (k != -1) k++;
+        }
+
+        // both are exact below 2^53,
+        // so the quotient is rounded once
+        double num = k > 0 ? n / POW10[k] : n;
+        return neg ? -num : num;
+    }
+
+    /**
+     * Returns the value of this node as int, or 0 if it is null
+     *
+     * @throws IllegalArgumentException If the value is not an int
+     */
+    public int toInt() {
+        long n = digits(10);
+        if (n != Long.MIN_VALUE) {
+            return (int) n;
+        }
+        return value().toInt(0);
+    }
+
+    /**
+     * Returns the value of this node as long, or 0 if it is null
+     *
+     * @throws IllegalArgumentException If the value is not a long
+     */
+    public long toLong() {
+        long n = digits(19);
+        if (n != Long.MIN_VALUE) {
+            return n;
+        }
+        return value().toLong(0L);
+    }
+
+    /**
+     * Returns the value of this node as double, or 0 if it is null
+     *
+     * @throws IllegalArgumentException If the value is not a double
+     */
+    public double toDouble() {
+        double num = decimal();
+        if (num == num) {
+            return num;
+        }
+        return value().toDouble(0D);
+    }
+
+    /**
+     * Returns the value of this node as boolean, or false if it is null
+     *
+     * @throws IllegalArgumentException If the value is not a boolean
+     */
+    public boolean toBoolean() {
+        int[] t = tape;
+        int i = t[pos + VAL],
+            l = t[pos + VAL_LEN];
+        byte[] d = data;
+        if (l == 4) {
+            if (d[i] == 't' &&
+                d[i + 1] == 'r' &&
+                d[i + 2] == 'u' &&
+                d[i + 3] == 'e') {
+                return true;
+            }
+            if (isNull()) {
+                return false;
+            }
+        } else if (l == 5) {
+            if (d[i] == 'f' &&
+                d[i + 1] == 'a' &&
+                d[i + 2] == 'l' &&
+                d[i + 3] == 's' &&
+                d[i + 4] == 'e') {
+                return false;
+            }
+        }
+        return value().toBoolean(false);
+    }
+
+    /**
+     * Encodes the children of this node
+     *
+     * @param chan the specified channel
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public void accept(
+        @NotNull Chan chan
+    ) throws IOException {
+        int[] t = tape;
+        int p = pos;
+        if (t[p + KIND] > TEXT) {
+            int e = t[p + NEXT];
+            for (p += STRIDE; p < e; p = t[p + NEXT]) {
+                Outline o = new Outline(
+                    p, t, data
+                );
+                String key = o.getKey();
+                switch (t[p + KIND]) {
+                    case OBJECT: {
+                        chan.set(key, Shape.BRACE, o);
+                        break;
+                    }
+                    case ARRAY: {
+                        chan.set(key, Shape.BRACKET, o);
+                        break;
+                    }
+                    case TEXT: {
+                        chan.set(key, o.toString());
+                        break;
+                    }
+                    default: {
+                        chan.set(key, o.toObject());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the object of this bare value, a number,
+     * a boolean, null or otherwise the string of it
+     */
+    @Nullable
+    private Object toObject() {
+        if (isNull()) {
+            return null;
+        }
+
+        int[] t = tape;
+        int i = t[pos + VAL],
+            l = t[pos + VAL_LEN];
+        byte[] d = data;
+
+        if (isDecimal(d, i, l)) {
+            Value v = value();
+            Number num = v.toNumber(null);
+            return num != null ? num : v.toDouble(null);
+        }
+
+        if (l == 4) {
+            if (d[i] == 't' &&
+                d[i + 1] == 'r' &&
+                d[i + 2] == 'u' &&
+                d[i + 3] == 'e') {
+                return Boolean.TRUE;
+            }
+        } else if (l == 5) {
+            if (d[i] == 'f' &&
+                d[i + 1] == 'a' &&
+                d[i + 2] == 'l' &&
+                d[i + 3] == 's' &&
+                d[i + 4] == 'e') {
+                return Boolean.FALSE;
+            }
+        }
+        return toString();
+    }
+
+    /**
+     * Returns true if the specified bytes are a decimal
+     * number, optionally signed and with a fraction or exponent
+     */
+    private static boolean isDecimal(
+        byte[] d, int i, int l
+    ) {
+        int e = i + l;
+        if (i < e && (d[i] == '-' || d[i] == '+')) {
+            i++;
+        }
+
+        int n = 0;
+        while (i < e && d[i] >= '0' && d[i] <= '9') {
+            i++;
+            n++;
+        }
+        if (i < e && d[i] == '.') {
+            i++;
+            while (i < e && d[i] >= '0' && d[i] <= '9') {
+                i++;
+                n++;
+            }
+        }
+        if (n == 0) {
+            return false;
+        }
+
+        if (i < e && (d[i] == 'e' || d[i] == 'E')) {
+            if (++i < e && (d[i] == '-' || d[i] == '+')) {
+                i++;
+            }
+            if (i == e) {
+                return false;
+            }
+            while (i < e && d[i] >= '0' && d[i] <= '9') {
+                i++;
+            }
+        }
+        return i == e;
+    }
+
+    /**
+     * Returns the decoded string of this value,
+     * or the json text of this object or array
+     */
+    @NotNull
+    @Override
+    public String toString() {
+        int[] t = tape;
+        if (t[pos + KIND] > TEXT) {
+            try (Chan chan = new Json()) {
+                chan.set(
+                    null, isArray() ?
+                        Shape.BRACKET : Shape.BRACE, this
+                );
+                return chan.toString();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return new String(
+            data, t[pos + VAL], t[pos + VAL_LEN], UTF_8
+        );
+    }
+
+    /**
+     * The coders of objects and arrays
+     *
+     * @author kraity
+     * @since 0.0.6
+     */
+    enum Shape implements Coder<Outline> {
+        BRACE, BRACKET;
+
+        @Override
+        public Border getBorder(
+            @NotNull Flag flag
+        ) {
+            return this == BRACE ?
+                Border.BRACE : Border.BRACKET;
+        }
+
+        @Override
+        public void write(
+            @NotNull Chan chan,
+            @NotNull Object value
+        ) throws IOException {
+            ((Outline) value).accept(chan);
+        }
+    }
+
+    /**
+     * A pipe that records every node on the tape
+     *
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Tape implements Pipe {
+
+        int top, used, depth;
+        int[] tape = new int[STRIDE * 16];
+        int[] stack = new int[8];
+        byte[] data = new byte[256];
+
+        int add(
+            int kind,
+            Space alias,
+            Space value
+        ) {
+            int p = top;
+            int[] t = tape;
+            if (p + STRIDE > t.length) {
+                int[] s = new int[t.length * 2];
+                System.arraycopy(
+                    t, 0, s, 0, p
+                );
+                tape = t = s;
+            }
+
+            t[p + KIND] = kind;
+            t[p + KEY] = put(alias);
+            t[p + KEY_LEN] = alias.size();
+            t[p + VAL] = put(value);
+            t[p + VAL_LEN] = value.size();
+            t[p + NEXT] = top = p + STRIDE;
+            return p;
+        }
+
+        int put(
+            Space bin
+        ) {
+            int o = used,
+                l = bin.size();
+            if (l != 0) {
+                byte[] d = data;
+                if (o + l > d.length) {
+                    byte[] s = new byte[
+                        Math.max(o + l, d.length * 2)
+                        ];
+                    System.arraycopy(
+                        d, 0, s, 0, o
+                    );
+                    data = d = s;
+                }
+                System.arraycopy(
+                    valueOf(bin), 0, d, o, l
+                );
+                used = o + l;
+            }
+            return o;
+        }
+
+        @Override
+        public Pipe onOpen(
+            Alias alias,
+            Space space
+        ) {
+            int kind = space.size() == 1 &&
+                space.get(0) == '[' ? ARRAY : OBJECT;
+            int p = add(
+                kind, alias, space
+            );
+
+            int d = depth;
+            int[] s = stack;
+            if (d == s.length) {
+                int[] n = new int[d * 2];
+                System.arraycopy(
+                    s, 0, n, 0, d
+                );
+                stack = s = n;
+            }
+            s[d] = p;
+            depth = d + 1;
+            return this;
+        }
+
+        @Override
+        public void onNext(
+            Alias alias,
+            Space space,
+            Value value
+        ) {
+            add(
+                stateOf(value) == 0 ? VALUE : TEXT, alias, value
+            );
+        }
+
+        @Override
+        public Pipe onClose(
+            boolean alert,
+            boolean state
+        ) {
+            int d = depth;
+            if (d == 0) {
+                return null;
+            }
+            depth = --d;
+            tape[stack[d] + NEXT] = top;
+            return this;
+        }
+    }
+}
@@ -49,6 +49,7 @@ public class Parser extends Factory implements Closeable {
      */
     protected Type type;
     protected Spare<?> spare;
+    protected Projection view;
 
     /**
      * state etc.
@@ -140,8 +141,10 @@ public class Parser extends Factory implements Closeable {
             }
 
             if (datum.also()) {
+                Projection v = view;
                 robot.solve(
-                    datum, this
+                    datum, v == null ?
+                        this : v.apply(this)
                 );
                 Object result = target;
                 if (result != null) {
@@ -172,16 +175,69 @@ public class Parser extends Factory implements Closeable {
     public <T> T solve(
         @NotNull Algo algo,
         @NotNull Flow datum
+    ) throws IOException {
+        return solve(
+            datum, solver(algo)
+        );
+    }
+
+    /**
+     * Resolves the {@link Flow} with specified {@link Algo}
+     * and transfers the solution to the specified pipe
+     * instead of the spare of this {@link Parser}
+     *
+     * @param algo  the specified algo of flow
+     * @param datum the specified flow to be resolved
+     * @param pipe  the specified pipe as the receiver
+     * @throws IOException If an I/O error or parsing error occurs
+     */
+    public void solve(
+        @NotNull Algo algo,
+        @NotNull Flow datum,
+        @NotNull Pipe pipe
+    ) throws IOException {
+        if (datum == null) {
+            throw new IOException(
+                "Received flow is null"
+            );
+        }
+
+        Solver robot = solver(algo);
+        try {
+            if (datum.also()) {
+                robot.solve(
+                    datum, pipe
+                );
+            }
+        } catch (Exception alas) {
+            throw new IOException(
+                "Failed to solve " + datum, alas
+            );
+        } finally {
+            robot.clear();
+            datum.close();
+        }
+    }
+
+    /**
+     * Returns the solver of the specified {@link Algo}
+     *
+     * @param algo the specified algo of flow
+     * @throws IOException If no solver of the algo is found
+     */
+    @NotNull
+    protected Solver solver(
+        @NotNull Algo algo
     ) throws IOException {
         switch (algo.hashCode()) {
             case kat: {
-                return solve(datum, radar);
+                return radar;
             }
             case doc: {
-                return solve(datum, podar);
+                return podar;
             }
             case json: {
-                return solve(datum, sodar);
+                return sodar;
             }
             default: {
                 throw new IOException(
@@ -451,6 +507,25 @@ public class Parser extends Factory implements Closeable {
         }
     }
 
+    /**
+     * Gets the projection of this {@link Parser}
+     */
+    @Nullable
+    public Projection getView() {
+        return view;
+    }
+
+    /**
+     * Sets the projection of this {@link Parser}
+     */
+    public void setView(
+        @Nilable Projection last
+    ) {
+        if (last != null) {
+            view = last;
+        }
+    }
+
     /**
      * Gets the context of this {@link Parser}
      */
@@ -476,6 +551,7 @@ public class Parser extends Factory implements Closeable {
     @Override
     public void close() {
         type = null;
+        view = null;
         spare = null;
         context = null;
 
@@ -508,8 +584,8 @@ public class Parser extends Factory implements Closeable {
      */
     @NotNull
     public static Parser apply() {
-        KatBuffer<Parser> buffer = TABLE[Thread
-            .currentThread().hashCode() & MASK];
+        KatBuffer<Parser> buffer =
+            GROUP.current();
 
         Parser target = buffer.borrow();
         if (target == null) target = new Parser();
@@ -518,20 +594,6 @@ public class Parser extends Factory implements Closeable {
         return target;
     }
 
-    private static final int MASK;
-    private static final KatBuffer<Parser>[] TABLE;
-
-    static {
-        int g = PARSER_GROUP;
-        if ((g & (MASK = g - 1)) == 0) {
-            TABLE = new KatBuffer[g];
-            do {
-                TABLE[--g] = new KatBuffer<>();
-            } while (g > 0);
-        } else {
-            throw new Error(
-                "Received " + g + " is not a power of two"
-            );
-        }
-    }
+    private static final KatBuffer.Group<Parser>
+        GROUP = KatBuffer.group(PARSER_GROUP);
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2022 Kat+ Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plus.kat.spare;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+import plus.kat.chain.*;
+import plus.kat.lang.*;
+
+import java.io.IOException;
+
+/**
+ * A set of paths to be decoded, the other properties are
+ * not passed to the pipes and their subtrees are skipped by
+ * the solver, see {@link Spare#parse(Flow, Projection)}
+ *
+ * <pre>{@code
+ *  Projection view = Projection.of(
+ *      "user.id", "items[*].sku"
+ *  );
+ *  Map<String, Object> map = spare.parse(flow, view);
+ * }</pre>
+ * <p>
+ * The paths are separated by {@code .}, a {@code *} or {@code [*]}
+ * matches any property or any element, and a path keeps the whole
+ * subtree of its last property. The names are matched against the
+ * bytes of the alias, so no string is decoded for skipped properties
+ *
+ * @author kraity
+ * @since 0.0.6
+ */
+public final class Projection {
+
+    private final String[] paths;
+    private final Node root = new Node();
+
+    /**
+     * Constructs a projection with the specified paths
+     *
+     * @param paths the specified paths to be decoded
+     * @throws IllegalArgumentException If a path is empty or illegal
+     */
+    private Projection(
+        @NotNull String[] paths
+    ) {
+        for (String path : paths) {
+            if (path == null ||
+                path.isEmpty()) {
+                throw new IllegalArgumentException(
+                    "Received path is empty"
+                );
+            }
+
+            Node node = root;
+            int i = 0, l = path.length();
+            while (i < l && !node.all) {
+                char c = path.charAt(i);
+                if (c == '.') {
+                    i++;
+                    continue;
+                }
+
+                if (c == '[') {
+                    if (i + 2 < l &&
+                        path.charAt(i + 1) == '*' &&
+                        path.charAt(i + 2) == ']') {
+                        i += 3;
+                        node = node.wild();
+                        continue;
+                    }
+                    throw new IllegalArgumentException(
+                        "Received path(" + path + ") only supports `[*]`"
+                    );
+                }
+
+                int j = i;
+                while (j < l) {
+                    c = path.charAt(j);
+                    if (c == '.' || c == '[') {
+                        break;
+                    }
+                    j++;
+                }
+
+                String name = path.substring(i, j);
+                if (name.equals("*")) {
+                    node = node.wild();
+                } else {
+                    node = node.name(name);
+                }
+                i = j;
+            }
+
+            node.keep();
+        }
+        this.paths = paths.clone();
+    }
+
+    /**
+     * Returns a projection of the specified paths
+     *
+     * @param paths the specified paths to be decoded
+     * @throws IllegalArgumentException If a path is empty or illegal
+     */
+    @NotNull
+    public static Projection of(
+        @NotNull String... paths
+    ) {
+        if (paths != null &&
+            paths.length != 0) {
+            return new Projection(paths);
+        }
+        throw new IllegalArgumentException(
+            "Received paths is empty"
+        );
+    }
+
+    /**
+     * Returns a pipe that only passes the projected
+     * properties of the specified root pipe
+     *
+     * @param pipe the specified root pipe
+     */
+    @NotNull
+    public Pipe apply(
+        @NotNull Pipe pipe
+    ) {
+        return new Scope(
+            root, pipe
+        );
+    }
+
+    /**
+     * Returns the paths of this projection
+     */
+    @Override
+    public String toString() {
+        return String.join(
+            ", ", paths
+        );
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Node {
+
+        boolean all;
+        Node any;
+        int size;
+        Label[] names;
+        Node[] nodes;
+
+        Node wild() {
+            Node n = any;
+            if (n == null) {
+                any = n = new Node();
+            }
+            return n;
+        }
+
+        Node name(
+            String name
+        ) {
+            Label label = new Label(name);
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(label)) {
+                    return nodes[i];
+                }
+            }
+
+            if (names == null) {
+                names = new Label[4];
+                nodes = new Node[4];
+            } else if (size == names.length) {
+                Label[] a = new Label[size * 2];
+                Node[] b = new Node[size * 2];
+                System.arraycopy(names, 0, a, 0, size);
+                System.arraycopy(nodes, 0, b, 0, size);
+                names = a;
+                nodes = b;
+            }
+
+            Node n = new Node();
+            names[size] = label;
+            nodes[size++] = n;
+            return n;
+        }
+
+        void keep() {
+            all = true;
+            any = null;
+            size = 0;
+            names = null;
+            nodes = null;
+        }
+
+        Node match(
+            Alias alias
+        ) {
+            if (all) {
+                return this;
+            }
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(alias)) {
+                    return nodes[i];
+                }
+            }
+            return any;
+        }
+    }
+
+    /**
+     * @author kraity
+     * @since 0.0.6
+     */
+    static final class Scope implements Pipe {
+
+        Pipe pipe;
+        int depth = -1;
+        Node[] stack = new Node[8];
+
+        Scope(
+            Node root,
+            Pipe pipe
+        ) {
+            this.pipe = pipe;
+            this.stack[0] = root;
+        }
+
+        @Override
+        public Pipe onOpen(
+            Alias alias,
+            Space space
+        ) throws IOException {
+            int d = depth;
+            Node node = d < 0 ?
+                stack[0] : stack[d].match(alias);
+            if (node == null) {
+                return null;
+            }
+
+            Pipe child = pipe.onOpen(
+                alias, space
+            );
+            if (child == null) {
+                return null;
+            }
+
+            Node[] it = stack;
+            if (++d == it.length) {
+                Node[] s = new Node[d * 2];
+                System.arraycopy(
+                    it, 0, s, 0, d
+                );
+                stack = it = s;
+            }
+
+            it[d] = node;
+            depth = d;
+            pipe = child;
+            return this;
+        }
+
+        @Override
+        public void onNext(
+            Alias alias,
+            Space space,
+            Value value
+        ) throws IOException {
+            int d = depth;
+            if (d >= 0) {
+                Node node = stack[d].match(alias);
+                if (node == null || !node.all) {
+                    return;
+                }
+            }
+            pipe.onNext(
+                alias, space, value
+            );
+        }
+
+        @Override
+        public Pipe onClose(
+            boolean alert,
+            boolean state
+        ) throws IOException {
+            Pipe parent = pipe.onClose(
+                alert, state
+            );
+            if (parent == null ||
+                --depth < 0) {
+                return parent;
+            }
+            pipe = parent;
+            return this;
+        }
+    }
+}
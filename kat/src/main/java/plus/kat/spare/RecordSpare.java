@@ -18,6 +18,7 @@ package plus.kat.spare;
 import plus.kat.actor.*;
 
 import java.lang.reflect.*;
+import java.lang.invoke.MethodHandle;
 import java.beans.Transient;
 
 import static java.lang.reflect.Modifier.*;
@@ -31,6 +32,7 @@ import static plus.kat.spare.ReflectSpare.*;
 public class RecordSpare<T> extends SimpleSpare<T> {
 
     private int width;
+    private MethodHandle maker0, maker1;
     private Constructor<T> loader, builder;
 
     public RecordSpare(
@@ -52,6 +54,10 @@ public class RecordSpare<T> extends SimpleSpare<T> {
         Constructor<T> maker = loader;
         if (maker != null) {
             try {
+                MethodHandle mh = maker0;
+                if (mh != null) {
+                    return (T) (Object) mh.invokeExact();
+                }
                 return maker.newInstance(
                     (Object[]) null
                 );
@@ -78,6 +84,10 @@ public class RecordSpare<T> extends SimpleSpare<T> {
         Constructor<T> maker = builder;
         if (maker != null) {
             try {
+                MethodHandle mh = maker1;
+                if (mh != null) {
+                    return (T) (Object) mh.invokeExact(args);
+                }
                 return maker.newInstance(args);
             } catch (Throwable e) {
                 throw new IllegalStateException(
@@ -202,6 +212,7 @@ public class RecordSpare<T> extends SimpleSpare<T> {
                     ctor.setAccessible(true);
                 }
                 loader = (Constructor<T>) ctor;
+                maker0 = unreflect(ctor, LOADER);
                 if (width == 0) {
                     builder = (Constructor<T>) ctor;
                     return;
@@ -234,6 +245,7 @@ public class RecordSpare<T> extends SimpleSpare<T> {
                 latest.setAccessible(true);
             }
             builder = (Constructor<T>) latest;
+            maker1 = unreflect(latest, BUILDER);
         } else {
             throw new IllegalArgumentException(
                 "No accurate constructor was found"
@@ -20,6 +20,9 @@ import plus.kat.actor.*;
 
 import java.lang.reflect.*;
 import java.lang.annotation.*;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 
 import java.beans.Transient;
 
@@ -39,8 +42,34 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
 
     private int extra;
     private boolean variable;
+    private MethodHandle maker0, maker1;
     private Constructor<T> loader, builder;
 
+    static MethodHandles.Lookup LOOKUP;
+    static MethodType GETTER, SETTER, LOADER, BUILDER;
+
+    static {
+        try {
+            // Generally no
+            // java.lang.invoke in Android API < 26
+            LOOKUP = MethodHandles.lookup();
+            GETTER = MethodType.methodType(
+                Object.class, Object.class
+            );
+            SETTER = MethodType.methodType(
+                void.class, Object.class, Object.class
+            );
+            LOADER = MethodType.methodType(
+                Object.class
+            );
+            BUILDER = MethodType.methodType(
+                Object.class, Object[].class
+            );
+        } catch (Throwable e) {
+            // Ignore this exception
+        }
+    }
+
     public ReflectSpare(
         @Nilable String space,
         @NotNull Class<?> klass,
@@ -68,6 +97,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
         Constructor<T> maker = loader;
         if (maker != null) {
             try {
+                MethodHandle mh = maker0;
+                if (mh != null) {
+                    return (T) (Object) mh.invokeExact();
+                }
                 return maker.newInstance(
                     (Object[]) null
                 );
@@ -129,6 +162,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             }
 
             try {
+                MethodHandle mh = maker1;
+                if (mh != null) {
+                    return (T) (Object) mh.invokeExact(args);
+                }
                 return maker.newInstance(args);
             } catch (Throwable e) {
                 throw new IllegalStateException(
@@ -470,6 +507,7 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
                     current.setAccessible(true);
                 }
                 loader = (Constructor<T>) current;
+                maker0 = unreflect(current, LOADER);
             }
         }
 
@@ -486,6 +524,7 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             }
             types = lt;
             builder = (Constructor<T>) latest;
+            maker1 = unreflect(latest, BUILDER);
 
             // Run in kotlin
             if (before != null) {
@@ -610,6 +649,54 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
         }
     }
 
+    /**
+     * Binds the specified member once as a {@link MethodHandle} adapted
+     * to the specified erased type, or returns null to fall back to
+     * reflection if method handles are unavailable or rejected
+     *
+     * @param elem the specified accessible field, method or constructor
+     * @param type the specified type, such as {@link #GETTER}
+     */
+    @Nullable
+    static MethodHandle unreflect(
+        @NotNull AccessibleObject elem,
+        @Nullable MethodType type
+    ) {
+        MethodHandles.Lookup lookup = LOOKUP;
+        if (lookup != null && type != null) {
+            try {
+                MethodHandle mh;
+                if (elem instanceof Field) {
+                    if (type == GETTER) {
+                        mh = lookup.unreflectGetter(
+                            (Field) elem
+                        );
+                    } else {
+                        mh = lookup.unreflectSetter(
+                            (Field) elem
+                        );
+                    }
+                } else if (elem instanceof Method) {
+                    mh = lookup.unreflect(
+                        (Method) elem
+                    );
+                } else {
+                    Constructor<?> c = (Constructor<?>) elem;
+                    mh = lookup.unreflectConstructor(c);
+                    if (type == BUILDER) {
+                        mh = mh.asSpreader(
+                            Object[].class, c.getParameterTypes().length
+                        );
+                    }
+                }
+                return mh.asType(type);
+            } catch (Throwable e) {
+                // Ignore this exception
+            }
+        }
+        return null;
+    }
+
     /**
      * @author kraity
      * @since 0.0.6
@@ -687,6 +774,7 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
     static final class FieldCaller extends Caller {
 
         private final Field field;
+        private final MethodHandle getter, setter;
 
         public FieldCaller(
             int index, Magic magic,
@@ -703,6 +791,8 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             if (!field.isAccessible()) {
                 field.setAccessible(true);
             }
+            getter = unreflect(field, GETTER);
+            setter = unreflect(field, SETTER);
         }
 
         @Override
@@ -710,6 +800,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             @NotNull Object bean
         ) {
             try {
+                MethodHandle mh = getter;
+                if (mh != null) {
+                    return (Object) mh.invokeExact(bean);
+                }
                 return field.get(bean);
             } catch (Throwable e) {
                 throw new IllegalStateException(
@@ -726,9 +820,14 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             // Not operate when value is null
             if (value != null) {
                 try {
-                    field.set(
-                        bean, value
-                    );
+                    MethodHandle mh = setter;
+                    if (mh != null) {
+                        mh.invokeExact(bean, value);
+                    } else {
+                        field.set(
+                            bean, value
+                        );
+                    }
                     return true;
                 } catch (Throwable e) {
                     throw new IllegalStateException(
@@ -747,6 +846,7 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
     static final class MethodCaller extends Caller {
 
         private final Method method;
+        private final MethodHandle handle;
 
         public MethodCaller(
             int index, Magic magic,
@@ -772,6 +872,9 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             if (!method.isAccessible()) {
                 method.setAccessible(true);
             }
+            handle = unreflect(
+                method, target == null ? GETTER : SETTER
+            );
         }
 
         @Override
@@ -779,6 +882,10 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             @NotNull Object bean
         ) {
             try {
+                MethodHandle mh = handle;
+                if (mh != null) {
+                    return (Object) mh.invokeExact(bean);
+                }
                 return method.invoke(
                     bean, (Object[]) null
                 );
@@ -797,9 +904,14 @@ public class ReflectSpare<T> extends SimpleSpare<T> {
             // Not operate when value is null
             if (value != null) {
                 try {
-                    method.invoke(
-                        bean, value
-                    );
+                    MethodHandle mh = handle;
+                    if (mh != null) {
+                        mh.invokeExact(bean, value);
+                    } else {
+                        method.invoke(
+                            bean, value
+                        );
+                    }
                     return true;
                 } catch (Throwable e) {
                     throw new IllegalStateException(
@@ -64,7 +64,7 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
         }
     }
 
-    SimpleSpare(
+    protected SimpleSpare(
         @Nilable String space,
         @NotNull Class<T> klass,
         @NotNull Context context
@@ -390,6 +390,66 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
         }
     }
 
+    /**
+     * Registers the specified accessor under the precomputed
+     * {@code hash1} of its names, the first one is also the output name
+     *
+     * @param name   the specified output name
+     * @param hashes the specified hashes of the name and its aliases
+     * @throws IllegalStateException If the name or alias already exists
+     */
+    protected void embed(
+        @NotNull String name,
+        @NotNull long[] hashes,
+        @NotNull Accessor accessor
+    ) {
+        Node node = node(
+            hashes[0], accessor
+        );
+        if (node.setter == null && node.getter == null) {
+            node.setter = accessor;
+            show(name, accessor);
+            node.getter = accessor;
+            for (int i = 1; i < hashes.length; i++) {
+                node = node(
+                    hashes[i], accessor
+                );
+                if (node.setter == null) {
+                    node.setter = accessor;
+                    continue;
+                }
+                throw new IllegalStateException(
+                    "Failed to set the reader<" + hashes[i] + "> of `"
+                        + klass.getName() + "` because it already exists"
+                );
+            }
+        } else {
+            throw new IllegalStateException(
+                "Failed to set the property<" + name + "> of `" +
+                    klass.getName() + "` because it already exists"
+            );
+        }
+    }
+
+    /**
+     * Returns the generic type of the specified declared field
+     *
+     * @throws IllegalStateException If the field is not found
+     */
+    @NotNull
+    protected static Type typeOf(
+        @NotNull Class<?> klass,
+        @NotNull String field
+    ) {
+        try {
+            return klass.getDeclaredField(field).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(
+                "Not found the field<" + field + "> of " + klass, e
+            );
+        }
+    }
+
     void show(
         Object name, Caller node
     ) {
@@ -397,7 +457,12 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
             return;
         }
 
-        if (name != null) {
+        if (name instanceof String) {
+            node.name = new Label(
+                (String) name
+            );
+            node.grade = grade;
+        } else if (name != null) {
             node.name = name;
             node.grade = grade;
         } else {
@@ -625,4 +690,24 @@ public abstract class SimpleSpare<T> extends BeanSpare<T> implements Subject<T>
             return element.getAnnotation(clazz);
         }
     }
+
+    /**
+     * The property accessor of the compiled spare
+     *
+     * @author kraity
+     * @since 0.0.6
+     */
+    public static abstract class Accessor extends Caller {
+
+        public Accessor(
+            int index,
+            @NotNull Type type,
+            @NotNull Context context
+        ) {
+            super(index);
+            prepare(
+                this.type = type, null, context
+            );
+        }
+    }
 }
@@ -69,6 +69,9 @@ public class StringSpare extends BaseSpare<String> {
             return null;
         }
 
+        if (value instanceof Alias) {
+            return value.toKey();
+        }
         return new String(v, 0, l, UTF_8);
     }
 
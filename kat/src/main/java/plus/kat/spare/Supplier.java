@@ -30,6 +30,8 @@ import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
 
 import static plus.kat.Algo.*;
 import static plus.kat.lang.Uniform.*;
@@ -300,6 +302,56 @@ public interface Supplier extends Context {
         return chan;
     }
 
+    /**
+     * Encodes the specified value to the sink with the flags, the
+     * encoded bytes are written to the sink in chunks while encoding
+     *
+     * @param algo  the specified algo for telex
+     * @param flags the specified flags for serialize
+     * @param sink  the specified sink, calling {@link OutputStream#close()} has no effect
+     * @throws IOException If an I/O error or analysis error occurs
+     */
+    default void telex(
+        @NotNull Algo algo,
+        @Nullable Object value, @NotNull long flags,
+        @NotNull OutputStream sink
+    ) throws IOException {
+        if (sink == null) {
+            throw new NullPointerException(
+                "Received sink is null"
+            );
+        }
+
+        Stream chan;
+        switch (algo.hashCode()) {
+            case kat: {
+                chan = new Kat(flags, this, sink);
+                break;
+            }
+            case doc: {
+                chan = new Doc(flags, this, sink);
+                break;
+            }
+            case json: {
+                chan = new Json(flags, this, sink);
+                break;
+            }
+            default: {
+                throw new IOException(
+                    "Not supported " + algo
+                );
+            }
+        }
+        try {
+            ((Chan) chan).set(
+                null, value
+            );
+            chan.flush();
+        } finally {
+            chan.close();
+        }
+    }
+
     /**
      * @author kraity
      * @since 0.0.6
@@ -309,6 +361,7 @@ public interface Supplier extends Context {
 
         public static final Vendor INS;
         public static final Provider[] PRO;
+        public static final Set<String> APT;
 
         static {
             Vendor ins = INS = new Vendor();
@@ -398,6 +451,30 @@ public interface Supplier extends Context {
                     "Failed to load the external providers", e
                 );
             }
+
+            // spares compiled by kat-processor
+            try (KatLoader<?> loader =
+                     new KatLoader<>(Spare.class)) {
+                loader.load(
+                    "plus.kat.Spare"
+                );
+
+                if (loader.hasNext()) {
+                    Set<String> apt = new HashSet<>();
+                    while (loader.hasNext()) {
+                        apt.add(
+                            loader.nextName()
+                        );
+                    }
+                    APT = apt;
+                } else {
+                    APT = Collections.emptySet();
+                }
+            } catch (Exception e) {
+                throw new Error(
+                    "Failed to load the compiled spares", e
+                );
+            }
         }
 
         /**
@@ -412,6 +489,35 @@ public interface Supplier extends Context {
         protected final ConcurrentHashMap
             <Object, Spare<?>> major;
 
+        /**
+         * Internal stamp of registrations
+         */
+        protected final AtomicInteger stamp
+            = new AtomicInteger();
+
+        /**
+         * Internal bounded set of types without spare
+         */
+        protected final Set<Type> absent
+            = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Internal locks of the spares in construction
+         */
+        protected final ConcurrentHashMap
+            <Class<?>, ReentrantLock> flight = new ConcurrentHashMap<>();
+
+        /**
+         * Internal depth of the locks held by the current thread
+         */
+        protected final ThreadLocal<int[]>
+            building = new ThreadLocal<int[]>() {
+            @Override
+            protected int[] initialValue() {
+                return new int[1];
+            }
+        };
+
         /**
          * Constructs a supplier with default config
          */
@@ -448,9 +554,12 @@ public interface Supplier extends Context {
             @NotNull Type type,
             @NotNull Spare<?> spare
         ) {
-            return major.put(
+            Spare<?> prev = major.put(
                 type, spare
             );
+            absent.clear();
+            stamp.incrementAndGet();
+            return prev;
         }
 
         @Override
@@ -460,8 +569,12 @@ public interface Supplier extends Context {
         ) {
             if (spare == null) {
                 spare = major.remove(type);
+                if (spare != null) {
+                    stamp.incrementAndGet();
+                }
             } else {
                 if (major.remove(type, spare)) {
+                    stamp.incrementAndGet();
                     return spare;
                 }
                 return null;
@@ -496,6 +609,11 @@ public interface Supplier extends Context {
                 return (Spare<T>) spare;
             }
 
+            Set<Type> none = absent;
+            if (none.contains(type)) {
+                return null;
+            }
+
             Provider[] PS = PRO;
             if (PS != null) {
                 for (Provider p : PS) {
@@ -509,6 +627,10 @@ public interface Supplier extends Context {
                 }
             }
 
+            if (none.size() >= SUPPLIER_ABSENT) {
+                none.clear();
+            }
+            none.add(type);
             return null;
         }
 
@@ -1045,6 +1167,56 @@ public interface Supplier extends Context {
                 return spare;
             }
 
+            // single-flight, a thread that is already building
+            // never waits for another to avoid the deadlock
+            ReentrantLock lock = flight.computeIfAbsent(
+                clazz, k -> new ReentrantLock()
+            );
+            boolean held;
+            int[] depth = building.get();
+            if (depth[0] != 0) {
+                held = lock.tryLock();
+            } else {
+                lock.lock();
+                held = true;
+            }
+            if (held) {
+                depth[0]++;
+            }
+            try {
+                if (held) {
+                    // double-checking
+                    spare = major.get(clazz);
+
+                    if (spare != null) {
+                        return spare;
+                    }
+                }
+                return create(
+                    clazz, name, alias
+                );
+            } finally {
+                if (held) {
+                    depth[0]--;
+                    flight.remove(clazz, lock);
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Creates the spare of the specified class
+         *
+         * @param clazz the specified class
+         * @param name  the specified actual name
+         * @param alias the specified name of class
+         */
+        private Spare<?> create(
+            @NotNull Class<?> clazz,
+            @Nilable Space name,
+            @NotNull String alias
+        ) {
+            Spare<?> spare;
             String space = alias;
             String[] spaces = null;
 
@@ -1063,6 +1235,18 @@ public interface Supplier extends Context {
                     }
                 } else {
                     Class<?> agent = magus.agent();
+                    if (agent == void.class && !APT.isEmpty()) {
+                        String apt = clazz.getName() + "$$Spare";
+                        if (APT.contains(apt)) {
+                            try {
+                                agent = Class.forName(
+                                    apt, false, clazz.getClassLoader()
+                                );
+                            } catch (ClassNotFoundException e) {
+                                // Ignore this exception
+                            }
+                        }
+                    }
                     String[] names = magus.value();
                     if (names.length != 0) {
                         space = (spaces = names)[0];
@@ -1207,9 +1391,16 @@ public interface Supplier extends Context {
             return spare;
         }
 
+        @Override
+        public int stamp() {
+            return stamp.get() & 0x7FFFFFFF;
+        }
+
         public void onDestroy() {
             minor.clear();
             major.clear();
+            absent.clear();
+            stamp.incrementAndGet();
         }
     }
 }
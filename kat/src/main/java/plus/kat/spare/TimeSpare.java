@@ -18,6 +18,7 @@ package plus.kat.spare;
 import plus.kat.*;
 import plus.kat.actor.*;
 import plus.kat.chain.*;
+import plus.kat.flow.KatBuffer;
 
 import java.io.IOException;
 import java.util.Calendar;
@@ -41,6 +42,46 @@ public abstract class TimeSpare<T> extends BaseSpare<T> {
         }
     };
 
+    private static final KatBuffer.Group<Calendar>
+        CALENDARS = new KatBuffer.Striped<>(PARSER_GROUP);
+
+    /**
+     * Returns a cleared calendar for the current thread, the
+     * virtual threads borrow it from the shared stripes instead
+     * of holding one in {@link #CALENDAR}, call {@link #resume(Calendar)}
+     * when it is no longer used
+     */
+    @NotNull
+    public static Calendar borrow() {
+        Calendar calendar;
+        Thread thread = Thread.currentThread();
+        if (KatBuffer.isVirtual(thread)) {
+            calendar = CALENDARS.current().borrow();
+            if (calendar == null) {
+                calendar = new GregorianCalendar();
+            }
+        } else {
+            calendar = CALENDAR.get();
+        }
+        calendar.clear();
+        calendar.setLenient(false);
+        return calendar;
+    }
+
+    /**
+     * Resumes the calendar obtained from {@link #borrow()}
+     *
+     * @param calendar the specified calendar to resume
+     */
+    public static void resume(
+        @NotNull Calendar calendar
+    ) {
+        Thread thread = Thread.currentThread();
+        if (KatBuffer.isVirtual(thread)) {
+            CALENDARS.current().resume(calendar);
+        }
+    }
+
     public TimeSpare(
         Class<T> klass
     ) {
@@ -155,15 +196,17 @@ public abstract class TimeSpare<T> extends BaseSpare<T> {
 
             Calendar calendar;
             if (i == l) {
-                calendar = CALENDAR.get();
-                calendar.clear();
-                calendar.setLenient(false);
+                calendar = borrow();
                 calendar.set(YEAR, y);
                 calendar.set(MONTH, m - 1);
                 calendar.set(DAY_OF_MONTH, d);
-                return apply(
-                    calendar.getTimeInMillis()
-                );
+                try {
+                    return apply(
+                        calendar.getTimeInMillis()
+                    );
+                } finally {
+                    resume(calendar);
+                }
             }
 
             switch (v[i++]) {
@@ -297,9 +340,7 @@ public abstract class TimeSpare<T> extends BaseSpare<T> {
                 }
             }
 
-            calendar = CALENDAR.get();
-            calendar.clear();
-            calendar.setLenient(false);
+            calendar = borrow();
             calendar.set(YEAR, y);
             calendar.set(MONTH, m - 1);
             calendar.set(DAY_OF_MONTH, d);
@@ -311,9 +352,13 @@ public abstract class TimeSpare<T> extends BaseSpare<T> {
                 calendar.set(DST_OFFSET, 0);
                 calendar.set(ZONE_OFFSET, scale);
             }
-            return apply(
-                calendar.getTimeInMillis()
-            );
+            try {
+                return apply(
+                    calendar.getTimeInMillis()
+                );
+            } finally {
+                resume(calendar);
+            }
         }
 
         throw new IOException(
@@ -326,13 +371,15 @@ public abstract class TimeSpare<T> extends BaseSpare<T> {
         @NotNull Flux flux,
         @NotNull Date value
     ) throws IOException {
-        Calendar calendar = CALENDAR.get();
-        calendar.clear();
-        calendar.setLenient(false);
+        Calendar calendar = borrow();
         calendar.setTimeInMillis(
             value.getTime()
         );
-        serialize(flux, calendar);
+        try {
+            serialize(flux, calendar);
+        } finally {
+            resume(calendar);
+        }
     }
 
     protected void serialize(
@@ -2,7 +2,10 @@ package plus.kat;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -53,4 +56,28 @@ public class ChanTest {
             assertArrayEquals(expected.getBytes(UTF_8), chan.toBinary());
         }
     }
+
+    @Test
+    public void test_sink() throws IOException {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 2048; i++) {
+            List<Object> item = new ArrayList<>();
+            item.add(i);
+            item.add("陆之岇-" + i);
+            list.add(item);
+        }
+
+        Spare<List> spare = Spare.of(List.class);
+        for (Algo algo : new Algo[]{Algo.KAT, Algo.DOC, Algo.JSON}) {
+            ByteArrayOutputStream sink =
+                new ByteArrayOutputStream();
+            spare.telex(
+                algo, list, Flag.PRETTY, sink
+            );
+            try (Chan chan = spare.telex(algo, list, Flag.PRETTY)) {
+                assertTrue(sink.size() > 8192);
+                assertArrayEquals(chan.toBinary(), sink.toByteArray());
+            }
+        }
+    }
 }
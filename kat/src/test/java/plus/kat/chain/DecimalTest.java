@@ -0,0 +1,158 @@
+package plus.kat.chain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * @author kraity
+ */
+public class DecimalTest {
+
+    static double parse(String text, boolean single) {
+        byte[] v = text.getBytes(US_ASCII);
+        return Decimal.parse(v, v.length, single);
+    }
+
+    static void check(String text) {
+        Value value = new Value(
+            text.getBytes(US_ASCII)
+        );
+        assertEquals(
+            Double.doubleToRawLongBits(Double.parseDouble(text)),
+            Double.doubleToRawLongBits(value.toDouble(null)), text
+        );
+        assertEquals(
+            Float.floatToRawIntBits(Float.parseFloat(text)),
+            Float.floatToRawIntBits(value.toFloat(null)), text
+        );
+    }
+
+    @Test
+    public void test_table() {
+        assertEquals(0xeef453d6923bd65aL, Decimal.POW5[0]);
+        assertEquals(0x113faa2906a13b3fL, Decimal.POW5[1]);
+        int k = -Decimal.MIN_Q * 2;
+        assertEquals(0x8000000000000000L, Decimal.POW5[k]);
+        assertEquals(0L, Decimal.POW5[k + 1]);
+    }
+
+    @Test
+    public void test_parse() {
+        String[] list = {
+            "0", "-0", "+0", "0.0", "-0.0", "1", "-1", "1.5", ".5", "5.",
+            "123.456", "-123.456", "0.1", "0.2", "0.3", "1e23", "8.41e21",
+            "9007199254740993", "9007199254740992", "4.9e-324", "5e-324",
+            "2.4703282292062328e-324", "2.4703282292062327e-324",
+            "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "1.7976931348623157e308", "1.7976931348623159e308", "1e309",
+            "1e-400", "3.4028235e38", "3.4028236e38", "1.4e-45", "7e-46",
+            "1.17549435E-38", "16777217", "33554435", "1E10", "1e+10",
+            "1.00000017881393432617187499", "1234567890123456789",
+            "0.000000000000000000000000000000000000001234", "7.038531e-26",
+            "1090544144181609348671888949248", "2.9802322387695312E-8"
+        };
+        for (String text : list) {
+            check(text);
+        }
+    }
+
+    @Test
+    public void test_random() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            double d = Double.longBitsToDouble(
+                random.nextLong()
+            );
+            if (d == d && !Double.isInfinite(d)) {
+                check(Double.toString(d));
+            }
+            check(Float.toString(
+                Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF)
+            ));
+
+            StringBuilder sb = new StringBuilder();
+            int n = 1 + random.nextInt(19);
+            for (int j = 0; j < n; j++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            sb.insert(random.nextInt(n + 1), '.');
+            if (sb.length() == 1) {
+                sb.append('0');
+            }
+            sb.append('e').append(random.nextInt(700) - 350);
+
+            String text = sb.toString();
+            assertFalse(Double.isNaN(parse(text, false)), text);
+            assertFalse(Double.isNaN(parse(text, true)), text);
+            check(text);
+        }
+    }
+
+    @Test
+    public void test_unsupported() {
+        String[] list = {
+            "", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1x",
+            "0x10", "NaN", "Infinity", "1.5f", "1d",
+            "12345678901234567890", "0.12345678901234567890"
+        };
+        for (String text : list) {
+            assertTrue(
+                Double.isNaN(parse(text, false)), text
+            );
+        }
+    }
+
+    @Test
+    public void test_toBigDecimal() {
+        String[] list = {
+            "0", "-0", "0.000", "1", "-1.50", "+.5", "5.", "1e3", "1.23E-7",
+            "123456789012345678", "-0.00012345", "12e+2"
+        };
+        for (String text : list) {
+            byte[] v = text.getBytes(US_ASCII);
+            BigDecimal num = Decimal.toBigDecimal(v, v.length);
+            assertNotNull(num, text);
+            assertEquals(new BigDecimal(text), num);
+        }
+
+        for (String text : new String[]{
+            "", ".", "1e", "1.2.3", "1234567890123456789", "1e1234567890"}) {
+            byte[] v = text.getBytes(US_ASCII);
+            assertNull(
+                Decimal.toBigDecimal(v, v.length), text
+            );
+        }
+    }
+
+    @Test
+    public void test_value() {
+        Value v = new Value(
+            "3.14159".getBytes(US_ASCII)
+        );
+        assertEquals(3.14159, v.toDouble());
+        assertEquals(3.14159F, v.toFloat());
+        assertEquals(3.14159, v.toDouble(null));
+        assertEquals(3.14159F, v.toFloat(null));
+        assertEquals(3.14159, v.toNumber(null));
+        assertEquals(new BigDecimal("3.14159"), v.toBigDecimal());
+
+        Value f = new Value(
+            "2.5f".getBytes(US_ASCII)
+        );
+        assertEquals(2.5F, f.toNumber(null));
+        assertEquals(2.5F, f.toFloat(null));
+
+        Value e = new Value(
+            "1.5e300".getBytes(US_ASCII)
+        );
+        assertEquals(1.5e300, e.toDouble(null));
+        assertThrows(
+            NumberFormatException.class, e::toDouble
+        );
+    }
+}
@@ -799,4 +799,31 @@ public class ValueTest {
         assertThrows(IllegalArgumentException.class, () -> value(v, "-9223372036854775808A").toBoolean(null));
         assertThrows(IllegalArgumentException.class, () -> value(v, "-9223372036854775808B").toBoolean(null));
     }
+
+    @Test
+    public void test_primitive_Def() {
+        Value v = new Value(32);
+
+        assertEquals(7, value(v, "").toInt(7));
+        assertEquals(7, value(v, "null").toInt(7));
+        assertEquals(31, value(v, "0x1F").toInt(0));
+        assertEquals(1, value(v, "true").toInt(0));
+
+        assertEquals(7L, value(v, "null").toLong(7L));
+        assertEquals(255L, value(v, "0xFF").toLong(0L));
+
+        assertEquals(7F, value(v, "null").toFloat(7F));
+        assertEquals(1.5E3F, value(v, "1.5e3").toFloat(0F));
+
+        assertEquals(7D, value(v, "null").toDouble(7D));
+        assertEquals(1.5E3D, value(v, "1.5e3").toDouble(0D));
+        assertEquals(0D, value(v, "false").toDouble(1D));
+
+        assertTrue(value(v, "null").toBoolean(true));
+        assertTrue(value(v, "TRUE").toBoolean(false));
+        assertFalse(value(v, "0").toBoolean(true));
+
+        assertThrows(IllegalArgumentException.class, () -> value(v, "nul").toInt(0));
+        assertThrows(IllegalArgumentException.class, () -> value(v, "NaN").toBoolean(false));
+    }
 }
@@ -0,0 +1,152 @@
+package plus.kat.core;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author kraity
+ */
+public class SwarTest {
+
+    @Test
+    public void test_seek() {
+        byte[] v = "abcdefghijklmnop\"qrst\\uvw".getBytes(UTF_8);
+        assertEquals(16, Swar.seek(v, 0, v.length, (byte) '"'));
+        assertEquals(21, Swar.seek(v, 17, v.length, (byte) '"'));
+        assertEquals(21, Swar.seek(v, 3, v.length, (byte) '\''));
+        assertEquals(10, Swar.seek(v, 0, 10, (byte) '"'));
+        assertEquals(v.length, Swar.seek(v, 22, v.length, (byte) '"'));
+
+        byte[] u = "陆之岇陆之岇\"".getBytes(UTF_8);
+        assertEquals(u.length - 1, Swar.seek(u, 0, u.length, (byte) '"'));
+
+        for (int i = 0; i < 24; i++) {
+            byte[] b = new byte[24];
+            Arrays.fill(b, (byte) 'k');
+            b[i] = '\\';
+            assertEquals(i, Swar.seek(b, 0, b.length, (byte) '"'));
+        }
+    }
+
+    @Test
+    public void test_skip() {
+        byte[] v = "                \n\t\r  k  ".getBytes(UTF_8);
+        assertEquals(21, Swar.skip(v, 0, v.length));
+        assertEquals(21, Swar.skip(v, 21, v.length));
+        assertEquals(10, Swar.skip(v, 0, 10));
+        assertEquals(v.length, Swar.skip(v, 22, v.length));
+    }
+
+    static class Note {
+        public int id;
+        public String text;
+    }
+
+    @Test
+    public void test_solve() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            sb.append("kat陆");
+            if (i % 97 == 0) {
+                sb.append("\"\\");
+            }
+        }
+        String text = sb.toString();
+        String data = "{\n        \"id\"  :  1,\n        \"text\": " +
+            Json.encode(text) + "\n}";
+
+        Note note = Json.decode(
+            Note.class, new Slow(data)
+        );
+        assertNotNull(note);
+        assertEquals(1, note.id);
+        assertEquals(text, note.text);
+
+        String kat = "{\n        id = 1,\n        text = " +
+            Kat.encode(text) + "\n}";
+        Note note1 = Kat.decode(
+            Note.class, new Slow(kat)
+        );
+        assertNotNull(note1);
+        assertEquals(1, note1.id);
+        assertEquals(text, note1.text);
+    }
+
+    @Test
+    public void test_wipe() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("{\"k\":[1,\"}]\\\"\",'{'],\"v\":{}},");
+        }
+        String blob = "[" + sb + "\"陆之岇\"]";
+
+        Note note = Json.decode(
+            Note.class, new Slow(
+                "{\"extra\":" + blob + ",\"id\":1,\"text\":\"kat\"}"
+            )
+        );
+        assertNotNull(note);
+        assertEquals(1, note.id);
+        assertEquals("kat", note.text);
+
+        Note note1 = Kat.decode(
+            Note.class, new Slow(
+                "{extra=[# {[\n" + blob.substring(1)
+                    .replace(":", "=") + ",id=1,text=\"kat\"}"
+            )
+        );
+        assertNotNull(note1);
+        assertEquals(1, note1.id);
+        assertEquals("kat", note1.text);
+
+        StringBuilder xml = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            xml.append("<item a=\"<>\"><!-- <i> --><b/>")
+                .append("<![CDATA[</extra>]]>陆之岇</item>");
+        }
+        Note note2 = Doc.decode(
+            Note.class, new Slow(
+                "<Note><extra>" + xml + "</extra><id>1</id><text>kat</text></Note>"
+            )
+        );
+        assertNotNull(note2);
+        assertEquals(1, note2.id);
+        assertEquals("kat", note2.text);
+    }
+
+    static class Slow extends InputStream {
+        int i;
+        final byte[] v;
+
+        Slow(String text) {
+            v = text.getBytes(UTF_8);
+        }
+
+        @Override
+        public int read() {
+            return i < v.length ? v[i++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int o, int l) {
+            if (i == v.length) {
+                return -1;
+            }
+            int n = Math.min(
+                Math.min(l, 13), v.length - i
+            );
+            System.arraycopy(
+                v, i, b, o, n
+            );
+            i += n;
+            return n;
+        }
+    }
+}
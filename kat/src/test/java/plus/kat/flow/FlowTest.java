@@ -1,15 +1,19 @@
 package plus.kat.flow;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import plus.kat.*;
 import plus.kat.bean.*;
 
 import java.io.*;
 import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static java.nio.charset.StandardCharsets.*;
+import static plus.kat.lang.Uniform.FLOW_CAPACITY;
 
 /**
  * @author kraity
@@ -134,6 +138,28 @@ public class FlowTest {
         try (Chan chan = Kat.encode(model)) {
             assertEquals(text, chan.toString());
         }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < StringFlow.DIRECT; i++) {
+            sb.append("{id=").append(i).append('}');
+        }
+        String ascii = sb.toString();
+        for (int size : new int[]{
+            32, 9000, StringFlow.DIRECT}) {
+            StringFlow flow = new StringFlow(
+                ascii, 3, size
+            );
+            try {
+                assertEquals(size, flow.load());
+                assertEquals(
+                    ascii.substring(3, 3 + size),
+                    new String(flow.v, 0, flow.l, US_ASCII)
+                );
+                assertEquals(-1, flow.load());
+            } finally {
+                flow.close();
+            }
+        }
     }
 
     @Test
@@ -152,6 +178,53 @@ public class FlowTest {
         }
     }
 
+    @Test
+    public void test_adaptive() throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 20000; i++) {
+            if (i != 0) sb.append(',');
+            sb.append("\"陆").append(i).append('"');
+        }
+        String text = sb.append(']').toString();
+        byte[] bin = text.getBytes(UTF_8);
+
+        InputStreamFlow f1 = new InputStreamFlow(
+            new ByteArrayInputStream(bin) {
+                @Override
+                public int available() {
+                    return 600;
+                }
+            }
+        );
+        ReaderFlow f2 = new ReaderFlow(
+            new StringReader(text)
+        );
+
+        for (Flow flow : new Flow[]{f1, f2}) {
+            int min = Integer.MAX_VALUE, max = 0;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            while (flow.load() > 0) {
+                min = Math.min(min, flow.l);
+                max = Math.max(max, flow.l);
+                out.write(flow.v, 0, flow.l);
+            }
+            assertTrue(min < max);
+            assertTrue(max > 8192);
+            assertTrue(max <= FLOW_CAPACITY);
+            assertEquals(text, out.toString("UTF-8"));
+            flow.close();
+        }
+
+        String[] array = Json.decode(
+            String[].class, new InputStreamFlow(
+                new ByteArrayInputStream(bin)
+            )
+        );
+        assertNotNull(array);
+        assertEquals(20000, array.length);
+        assertEquals("陆19999", array[19999]);
+    }
+
     @Test
     public void test_ByteBufferFlow() throws IOException {
         String text = "{id=1,name=\"陆之岇\"}";
@@ -189,4 +262,117 @@ public class FlowTest {
             assertEquals(text, chan.toString());
         }
     }
+
+    @Test
+    public void test_TransferFlow() throws IOException {
+        String[] parts = {
+            "kat", "\u00e9", "\u9646", "\ud83d\ude00"
+        };
+
+        for (int size : new int[]{
+            32, 9000, StringFlow.DIRECT + 7}) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; sb.length() < size; i++) {
+                sb.append(parts[i % 7 == 0 ? i % 4 : 0]);
+            }
+
+            String text = sb.toString();
+            char[] chars = text.toCharArray();
+            byte[] bytes = text.getBytes(UTF_8);
+
+            for (Flow flow : new Flow[]{
+                new CharFlow(chars),
+                new StringFlow(text),
+                new StringFlow("[" + text + "]", 1, text.length()),
+                new CharBufferFlow(CharBuffer.wrap(chars)),
+                new CharBufferFlow(CharBuffer.wrap(text))
+            }) {
+                try {
+                    ByteArrayOutputStream out =
+                        new ByteArrayOutputStream();
+                    while (flow.load() > 0) {
+                        out.write(
+                            flow.v, flow.i, flow.l - flow.i
+                        );
+                    }
+                    assertArrayEquals(
+                        bytes, out.toByteArray()
+                    );
+                } finally {
+                    flow.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_MappedFileFlow(
+        @TempDir Path dir
+    ) throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 3000; i++) {
+            if (i != 0) sb.append(',');
+            sb.append("{\"id\":").append(i)
+                .append(",\"name\":\"陆之岇").append(i).append("\"}");
+        }
+
+        byte[] bytes = sb.append(']')
+            .toString().getBytes(UTF_8);
+        Path path = dir.resolve("data.json");
+        Files.write(path, bytes);
+
+        for (int window : new int[]{7, 4096, MappedFileFlow.WINDOW}) {
+            Flow flow = new MappedFileFlow(path, window);
+            try {
+                int max = 0;
+                ByteArrayOutputStream out =
+                    new ByteArrayOutputStream();
+                while (flow.load() > 0) {
+                    max = Math.max(
+                        max, flow.l - flow.i
+                    );
+                    out.write(
+                        flow.v, flow.i, flow.l - flow.i
+                    );
+                }
+                assertArrayEquals(
+                    bytes, out.toByteArray()
+                );
+                if (window == MappedFileFlow.WINDOW) {
+                    assertTrue(max > 8192);
+                    assertTrue(max <= FLOW_CAPACITY);
+                }
+            } finally {
+                flow.close();
+            }
+        }
+
+        User[] users = Json.decode(
+            User[].class, Flow.of(path)
+        );
+        assertNotNull(users);
+        assertEquals(3000, users.length);
+        assertEquals(2999, users[2999].id);
+        assertEquals("陆之岇2999", users[2999].name);
+
+        Path small = dir.resolve("small.json");
+        Files.write(
+            small, "  {\"id\":1}".getBytes(UTF_8)
+        );
+        try (FileChannel channel = FileChannel.open(small)) {
+            channel.position(2);
+            User user = Json.decode(
+                User.class, new MappedFileFlow(channel)
+            );
+            assertNotNull(user);
+            assertEquals(1, user.id);
+            assertTrue(channel.isOpen());
+        }
+
+        assertThrows(
+            IOException.class, () -> Json.decode(
+                User.class, Flow.of(dir.resolve("none.json"))
+            )
+        );
+    }
 }
@@ -0,0 +1,129 @@
+package plus.kat.flow;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class KatBucketTest {
+
+    @Test
+    public void test_apply() {
+        KatBucket bucket = new KatBucket(
+            1, 16, 256, 1024
+        );
+
+        assertEquals(5, bucket.tiers());
+        assertEquals(15, bucket.lengthOf(0));
+        assertEquals(255, bucket.lengthOf(4));
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> bucket.lengthOf(5)
+        );
+
+        assertEquals(15, bucket.apply(null, 0, 0).length);
+        assertEquals(15, bucket.apply(null, 0, 15).length);
+        assertEquals(31, bucket.apply(null, 0, 16).length);
+        assertEquals(63, bucket.apply(null, 0, 40).length);
+        assertEquals(511, bucket.apply(null, 0, 300).length);
+
+        byte[] b1 = bucket.apply(null, 0, 100);
+        assertEquals(127, b1.length);
+        assertEquals(1, bucket.misses(3));
+        assertEquals(0, bucket.hits(3));
+
+        b1[0] = 1;
+        b1[1] = 2;
+        byte[] b2 = bucket.apply(b1, 2, 200);
+        assertEquals(255, b2.length);
+        assertEquals(1, b2[0]);
+        assertEquals(2, b2[1]);
+        assertEquals(127, bucket.pooled());
+
+        assertSame(b1, bucket.apply(null, 0, 64));
+        assertEquals(1, bucket.hits(3));
+        assertEquals(0, bucket.pooled());
+    }
+
+    @Test
+    public void test_store() {
+        KatBucket bucket = new KatBucket(
+            1, 16, 256, 600
+        );
+
+        assertNull(bucket.store(null));
+        assertEquals(0, bucket.store(new byte[15]).length);
+        assertEquals(0, bucket.store(new byte[31]).length);
+
+        byte[] odd = new byte[100];
+        assertSame(odd, bucket.store(odd));
+        byte[] big = new byte[511];
+        assertSame(big, bucket.store(big));
+
+        assertEquals(0, bucket.store(new byte[255]).length);
+        assertEquals(0, bucket.store(new byte[255]).length);
+        assertEquals(510, bucket.pooled());
+
+        // over the budget
+        byte[] b1 = new byte[255];
+        assertSame(b1, bucket.store(b1));
+        byte[] b2 = new byte[127];
+        assertSame(b2, bucket.store(b2));
+        assertEquals(0, bucket.store(new byte[63]).length);
+        assertEquals(573, bucket.pooled());
+        assertEquals(600, bucket.budget());
+
+        // two arrays were pooled
+        bucket.apply(null, 0, 200);
+        bucket.apply(null, 0, 200);
+        bucket.apply(null, 0, 200);
+        assertEquals(2, bucket.hits(4));
+        assertEquals(1, bucket.misses(4));
+        assertEquals(63, bucket.pooled());
+    }
+
+    @Test
+    public void test_illegal() {
+        assertThrows(
+            IllegalArgumentException.class, () -> new KatBucket(1, 12, 256, 0)
+        );
+        assertThrows(
+            IllegalArgumentException.class, () -> new KatBucket(1, 16, 8, 0)
+        );
+        assertThrows(
+            IllegalArgumentException.class, () -> new KatBucket(1, 16, 100, 0)
+        );
+    }
+
+    @Test
+    public void test_stream() throws IOException {
+        KatBucket bucket =
+            (KatBucket) Stream.BUCKET;
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("kraity");
+        }
+        String text = sb.toString();
+
+        for (int i = 0; i < 3; i++) {
+            try (Chan chan = new Json()) {
+                chan.set(null, text);
+                assertEquals(
+                    text.length() + 2, chan.toString().length()
+                );
+            }
+        }
+
+        long hits = 0;
+        for (int t = 2; t < bucket.tiers(); t++) {
+            hits += bucket.hits(t);
+        }
+        assertTrue(hits > 0);
+    }
+}
@@ -0,0 +1,144 @@
+package plus.kat.flow;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class KatBufferTest {
+
+    @Test
+    public void test_buffer() {
+        KatBuffer<String> buffer =
+            new KatBuffer<>(2);
+
+        assertNull(buffer.borrow());
+        assertTrue(buffer.resume("a"));
+        assertTrue(buffer.resume("b"));
+        assertTrue(buffer.resume("c"));
+        assertFalse(buffer.resume("d"));
+
+        Set<String> set = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(
+                set.add(buffer.borrow())
+            );
+        }
+        assertNull(buffer.borrow());
+
+        buffer.resume("e");
+        buffer.resume("f");
+        buffer.close();
+        assertNull(buffer.borrow());
+    }
+
+    @Test
+    public void test_concurrent() throws Exception {
+        KatBuffer.Group<AtomicBoolean> group =
+            new KatBuffer.Striped<>(2);
+
+        int n = 8;
+        AtomicInteger error = new AtomicInteger();
+        ExecutorService service =
+            Executors.newFixedThreadPool(n);
+
+        try {
+            List<Future<?>> list = new ArrayList<>();
+            for (int t = 0; t < n; t++) {
+                list.add(
+                    service.submit(() -> {
+                        for (int i = 0; i < 20000; i++) {
+                            KatBuffer<AtomicBoolean> buf = group.current();
+                            AtomicBoolean bean = buf.borrow();
+                            if (bean == null) {
+                                bean = new AtomicBoolean();
+                            }
+                            if (!bean.compareAndSet(false, true)) {
+                                error.incrementAndGet();
+                            }
+                            bean.set(false);
+                            buf.resume(bean);
+                        }
+                    })
+                );
+            }
+            for (Future<?> f : list) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            service.shutdown();
+        }
+
+        assertEquals(0, error.get());
+    }
+
+    @Test
+    public void test_group() throws Exception {
+        KatBuffer.Group<String> local =
+            new KatBuffer.Local<>(2);
+        assertSame(
+            local.current(), local.current()
+        );
+
+        KatBuffer<String>[] other = new KatBuffer[1];
+        Thread thread = new Thread(
+            () -> other[0] = local.current()
+        );
+        thread.start();
+        thread.join();
+        assertNotSame(local.current(), other[0]);
+
+        KatBuffer.Group<String> striped =
+            new KatBuffer.Striped<>(4);
+        assertSame(
+            striped.current(), striped.current()
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new KatBuffer.Striped<>(3)
+        );
+    }
+
+    @Test
+    public void test_virtual() throws Exception {
+        assertFalse(
+            KatBuffer.isVirtual(
+                Thread.currentThread()
+            )
+        );
+
+        Method method;
+        try {
+            method = Thread.class.getMethod(
+                "startVirtualThread", Runnable.class
+            );
+        } catch (NoSuchMethodException e) {
+            return; // Before JDK 21
+        }
+
+        KatBuffer.Group<String> local =
+            new KatBuffer.Local<>(1);
+        KatBuffer<String>[] array = new KatBuffer[2];
+        for (int i = 0; i < array.length; i++) {
+            int n = i;
+            Thread thread = (Thread) method.invoke(
+                null, (Runnable) () -> {
+                    if (KatBuffer.isVirtual(Thread.currentThread())) {
+                        array[n] = local.current();
+                    }
+                }
+            );
+            thread.join();
+        }
+
+        assertNotNull(array[0]);
+        assertSame(array[0], array[1]);
+    }
+}
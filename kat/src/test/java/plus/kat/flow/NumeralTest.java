@@ -0,0 +1,139 @@
+package plus.kat.flow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * @author kraity
+ */
+public class NumeralTest {
+
+    static String of(double v) {
+        byte[] b = new byte[Numeral.DOUBLE_SIZE];
+        return new String(b, 0, Numeral.getBytes(v, 0, b), US_ASCII);
+    }
+
+    static String of(float v) {
+        byte[] b = new byte[Numeral.FLOAT_SIZE];
+        return new String(b, 0, Numeral.getBytes(v, 0, b), US_ASCII);
+    }
+
+    static String of(long v) {
+        int n = Numeral.sizeOf(v);
+        byte[] b = new byte[n];
+        Numeral.getBytes(v, n, b);
+        return new String(b, US_ASCII);
+    }
+
+    static String of(int v) {
+        int n = Numeral.sizeOf(v);
+        byte[] b = new byte[n];
+        Numeral.getBytes(v, n, b);
+        return new String(b, US_ASCII);
+    }
+
+    static void check(double v) {
+        String s = of(v), t = Double.toString(v);
+        assertEquals(Double.valueOf(v), Double.valueOf(s), t);
+        assertTrue(s.length() <= t.length(), s + " " + t);
+        assertEquals(t.contains("E"), s.contains("E"), s + " " + t);
+    }
+
+    static void check(float v) {
+        String s = of(v), t = Float.toString(v);
+        assertEquals(Float.valueOf(v), Float.valueOf(s), t);
+        assertTrue(s.length() <= t.length(), s + " " + t);
+        assertEquals(t.contains("E"), s.contains("E"), s + " " + t);
+    }
+
+    @Test
+    public void test_double() {
+        double[] list = {
+            0D, -0D, 1D, -1D, 0.1, 0.5, 1.5, 100D, 1234567D, 12345678D,
+            0.001, 0.0001, 1e7, 1e-3, 9.999999e6, 1e23, 2e23, 1e22,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE,
+            Double.MIN_NORMAL, 4.9e-322, 9007199254740993D, 3.141592653589793,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        for (double v : list) {
+            check(v);
+        }
+
+        assertEquals("0.0", of(0D));
+        assertEquals("-0.0", of(-0D));
+        assertEquals("1.0", of(1D));
+        assertEquals("0.1", of(0.1));
+        assertEquals("0.001", of(0.001));
+        assertEquals("1.0E-4", of(0.0001));
+        assertEquals("1234567.0", of(1234567D));
+        assertEquals("1.2345678E7", of(12345678D));
+        assertEquals("2.0E23", of(2e23));
+        assertEquals("4.9E-324", of(Double.MIN_VALUE));
+        assertEquals("1.7976931348623157E308", of(Double.MAX_VALUE));
+        assertEquals("NaN", of(Double.NaN));
+        assertEquals("-Infinity", of(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void test_float() {
+        float[] list = {
+            0F, -0F, 1F, -1F, 0.1F, 0.5F, 1.5F, 100F, 1234567F, 12345678F,
+            0.001F, 0.0001F, 1e7F, 3.4028235e38F, Float.MIN_VALUE,
+            Float.MIN_NORMAL, 1.17549435E-38F, 3.14159F, 16777217F,
+            Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY
+        };
+        for (float v : list) {
+            check(v);
+        }
+
+        assertEquals("0.0", of(0F));
+        assertEquals("1.0E-4", of(0.0001F));
+        assertEquals("3.14159", of(3.14159F));
+        assertEquals("1.4E-45", of(Float.MIN_VALUE));
+        assertEquals("3.4028235E38", of(Float.MAX_VALUE));
+    }
+
+    @Test
+    public void test_random() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500000; i++) {
+            double d = Double.longBitsToDouble(
+                random.nextLong()
+            );
+            check(d);
+            check(Float.intBitsToFloat(
+                random.nextInt()
+            ));
+            check((double) random.nextInt());
+            check(random.nextInt(1000000) / 1000D);
+        }
+    }
+
+    @Test
+    public void test_integer() {
+        long[] list = {
+            0, 1, -1, 9, 10, -10, 99, 100, -100, 12345, -99999,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L,
+            Long.MAX_VALUE, Long.MIN_VALUE, 999999999999999999L,
+            1000000000000000000L, -1000000000000000000L
+        };
+        for (long v : list) {
+            assertEquals(Long.toString(v), of(v));
+            if (v == (int) v) {
+                assertEquals(Integer.toString((int) v), of((int) v));
+            }
+        }
+
+        Random random = new Random(13);
+        for (int i = 0; i < 100000; i++) {
+            long l = random.nextLong() >> random.nextInt(64);
+            assertEquals(Long.toString(l), of(l));
+            int n = random.nextInt() >> random.nextInt(32);
+            assertEquals(Integer.toString(n), of(n));
+        }
+    }
+}
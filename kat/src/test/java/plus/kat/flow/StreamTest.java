@@ -2,9 +2,14 @@ package plus.kat.flow;
 
 import org.junit.jupiter.api.Test;
 
+import plus.kat.*;
+import plus.kat.chain.*;
+
 import java.io.IOException;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author kraity
@@ -151,4 +156,89 @@ public class StreamTest {
             );
         }
     }
+
+    static String slow(
+        Stream flux, String text
+    ) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                flux.emit((byte) c);
+            } else if (flux.coding ||
+                !Character.isSurrogate(c)) {
+                flux.emit(c);
+            } else if (Character.isHighSurrogate(c) &&
+                i + 1 < text.length() &&
+                Character.isLowSurrogate(text.charAt(i + 1))) {
+                byte[] b = text.substring(i, i + 2).getBytes(UTF_8);
+                for (byte v : b) flux.emit(v);
+                i++;
+            } else {
+                flux.emit((byte) '?');
+            }
+        }
+        String s = flux.toString();
+        flux.close();
+        return s;
+    }
+
+    @Test
+    public void test_escape() throws IOException {
+        String pool = "kraity \"\\\0\1\t\r\n\u007F#,:=@[]{}<>&/'"
+            + "©µŁ陆之岇\uD83E\uDDEC\uD83C\uDF0F\uD83C\uDFF7";
+        Random random = new Random(3);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int l = random.nextInt(
+                n % 10 == 0 ? 2000 : 40
+            );
+            for (int i = 0; i < l; i++) {
+                sb.append(pool.charAt(random.nextInt(pool.length())));
+            }
+            String text = sb.toString();
+            byte[] utf8 = text.getBytes(UTF_8);
+
+            for (int mode = 0; mode < 6; mode++) {
+                byte st = (byte) (mode & 1);
+                long flags = (mode & 2) == 0 ? 0 : Flag.UNICODE;
+                boolean doc = mode > 3;
+
+                String expect = slow(of(doc, flags, st), text);
+                Stream f1 = of(doc, flags, st);
+                f1.emit(text);
+                assertEquals(expect, f1.toString());
+
+                Stream f2 = of(doc, flags, st);
+                f2.emit(text.toCharArray());
+                assertEquals(expect, f2.toString());
+
+                Stream f3 = of(doc, flags, st);
+                f3.emit((CharSequence) new StringBuilder(text));
+                assertEquals(expect, f3.toString());
+
+                Stream f4 = of(doc, flags, st);
+                f4.emit(new Value(utf8));
+                Stream f5 = of(doc, flags, st);
+                for (byte b : utf8) f5.emit(b);
+                assertEquals(f5.toString(), f4.toString());
+            }
+        }
+    }
+
+    static Stream of(
+        boolean doc, long flags, byte st
+    ) {
+        if (doc) {
+            return new Doc(flags) {
+                {
+                    state = st;
+                }
+            };
+        }
+        return new Stream(flags) {
+            {
+                state = st;
+            }
+        };
+    }
 }
@@ -0,0 +1,88 @@
+package plus.kat.lang;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.chain.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author kraity
+ */
+public class KatCacheTest {
+
+    @Test
+    public void test_apply() {
+        KatCache cache =
+            new KatCache(16, 8);
+
+        Alias a1 = new Alias("name".getBytes(UTF_8));
+        Alias a2 = new Alias("name".getBytes(UTF_8));
+
+        String s1 = cache.apply(a1);
+        String s2 = cache.apply(a2);
+
+        assertEquals("name", s1);
+        assertSame(s1, s2);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5D, cache.hitRate());
+
+        Alias a3 = new Alias("陆之岇".getBytes(UTF_8));
+        assertEquals("陆之岇", cache.apply(a3));
+
+        Alias a4 = new Alias("123456789".getBytes(UTF_8));
+        assertNotSame(
+            cache.apply(a4), cache.apply(a4)
+        );
+        assertEquals("", cache.apply(new Alias()));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hits());
+    }
+
+    @Test
+    public void test_evict() {
+        KatCache cache =
+            new KatCache(8, 64);
+
+        for (int i = 0; i < 100; i++) {
+            Alias alias = new Alias(
+                ("key" + i).getBytes(UTF_8)
+            );
+            assertEquals(
+                "key" + i, cache.apply(alias)
+            );
+        }
+
+        assertTrue(cache.size() <= 8);
+        assertEquals(8, cache.capacity());
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new KatCache(12, 64)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_map() throws Exception {
+        String text = "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]";
+        List<Map<String, Object>> list = Json.decode(
+            List.class, text
+        );
+
+        assertNotNull(list);
+        assertEquals(2, list.size());
+
+        Iterator<String> k1 = list.get(0).keySet().iterator();
+        Iterator<String> k2 = list.get(1).keySet().iterator();
+        while (k1.hasNext()) {
+            assertSame(k1.next(), k2.next());
+        }
+    }
+}
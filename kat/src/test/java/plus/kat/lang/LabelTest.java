@@ -0,0 +1,83 @@
+package plus.kat.lang;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.actor.*;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author kraity
+ */
+public class LabelTest {
+
+    @Test
+    public void test_plain() {
+        assertTrue(new Label("user_id2").isPlain());
+        assertTrue(new Label("陆之岇").isPlain());
+        assertFalse(new Label("na\"me").isPlain());
+        assertFalse(new Label("na-me").isPlain());
+        assertFalse(new Label("陆 之").isPlain());
+
+        Label label = new Label("陆之岇");
+        assertEquals("陆之岇", label.toString());
+        assertEquals(9, label.size());
+        assertEquals(
+            "\\u9646\\u4E4B\\u5C87", new String(label.unicode(), UTF_8)
+        );
+
+        Label user = new Label("user_id");
+        assertSame(Uniform.valueOf(user), user.unicode());
+        assertNull(new Label("na-me").unicode());
+        assertTrue(new Label("user").equals("user"));
+    }
+
+    static class Sample {
+        @Magic("id")
+        public int id = 1;
+
+        @Magic("na\"me")
+        public String name = "kat";
+
+        @Magic("陆之岇")
+        public String tag = "k";
+
+        @Magic("陆_1")
+        public int mix = 2;
+    }
+
+    @Test
+    public void test_write() throws IOException {
+        Sample sample = new Sample();
+        try (Chan chan = Json.encode(sample)) {
+            assertEquals(
+                "{\"id\":1,\"na\\\"me\":\"kat\",\"陆之岇\":\"k\",\"陆_1\":2}", chan.toString()
+            );
+        }
+        try (Chan chan = Json.encode(sample, Flag.PRETTY)) {
+            assertEquals(
+                "{\n  \"id\": 1,\n  \"na\\\"me\": \"kat\",\n  \"陆之岇\": \"k\",\n  \"陆_1\": 2\n}", chan.toString()
+            );
+        }
+        try (Chan chan = Json.encode(sample, Flag.UNICODE)) {
+            assertEquals(
+                "{\"id\":1,\"na\\\"me\":\"kat\",\"\\u9646\\u4E4B\\u5C87\":\"k\",\"\\u9646_1\":2}", chan.toString()
+            );
+        }
+        try (Chan chan = Kat.encode(sample)) {
+            assertEquals(
+                "{id=1,na\\\"me=\"kat\",陆之岇=\"k\",陆_1=2}", chan.toString()
+            );
+        }
+        try (Chan chan = Doc.encode(sample)) {
+            assertEquals(
+                "<plus.kat.lang.LabelTest$Sample><id>1</id><na&quot;me>kat</na&quot;me>" +
+                    "<陆之岇>k</陆之岇><陆_1>2</陆_1></plus.kat.lang.LabelTest$Sample>", chan.toString()
+            );
+        }
+    }
+}
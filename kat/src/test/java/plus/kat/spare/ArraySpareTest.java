@@ -0,0 +1,162 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class ArraySpareTest {
+
+    @Test
+    public void test_primitive() throws IOException {
+        Supplier supplier = Supplier.ins();
+
+        assertArrayEquals(
+            new int[]{1, -2, 3},
+            supplier.read(int[].class, Flow.of("[1,-2,3]"))
+        );
+        assertArrayEquals(
+            new long[]{1, -2, 9876543210L},
+            supplier.read(long[].class, Flow.of("[1,-2,9876543210]"))
+        );
+        assertArrayEquals(
+            new double[]{1.5, -2.25, 3},
+            supplier.read(double[].class, Flow.of("[1.5,-2.25,3]"))
+        );
+        assertArrayEquals(
+            new float[]{1.5F, -2.25F},
+            supplier.read(float[].class, Flow.of("[1.5,-2.25]"))
+        );
+        assertArrayEquals(
+            new boolean[]{true, false, true},
+            supplier.read(boolean[].class, Flow.of("[true,false,true]"))
+        );
+        assertArrayEquals(
+            new int[0],
+            supplier.read(int[].class, Flow.of("[]"))
+        );
+    }
+
+    @Test
+    public void test_primitive_large() throws IOException {
+        int size = 100000;
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i * 31 - size;
+        }
+
+        Spare<int[]> spare =
+            Spare.of(int[].class);
+        for (Algo algo : new Algo[]{
+            Algo.KAT, Algo.DOC, Algo.JSON}) {
+            try (Chan chan = spare.telex(algo, array)) {
+                assertArrayEquals(
+                    array, spare.solve(
+                        algo, Flow.of(chan.toBinary())
+                    )
+                );
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_primitive_write() throws IOException {
+        Object[][] group = {
+            {new int[]{1, 2}, new Integer[]{1, 2}},
+            {new long[]{3, 4}, new Long[]{3L, 4L}},
+            {new double[]{5.5, 6}, new Double[]{5.5, 6D}},
+            {new float[]{7.5F, 8}, new Float[]{7.5F, 8F}},
+            {new boolean[]{true, false}, new Boolean[]{true, false}}
+        };
+
+        for (Algo algo : new Algo[]{
+            Algo.KAT, Algo.DOC, Algo.JSON}) {
+            for (Object[] pair : group) {
+                Spare<Object> s1 = Spare.of(
+                    (Class<Object>) pair[0].getClass()
+                );
+                Spare<Object> s2 = Spare.of(
+                    (Class<Object>) pair[1].getClass()
+                );
+                try (Chan c1 = s1.telex(algo, pair[0]);
+                     Chan c2 = s2.telex(algo, pair[1])) {
+                    assertEquals(
+                        c2.toString(), c1.toString()
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_primitive_lenient() throws IOException {
+        assertArrayEquals(
+            new double[]{1000, 0.25, 1, 0},
+            Json.decode(double[].class, "[1e3,\"2.5E-1\",true,null]")
+        );
+        assertArrayEquals(
+            new float[]{6.02E23F, 1.5F, 0},
+            Json.decode(float[].class, "[6.02e23,\"1.5\",false]")
+        );
+        assertArrayEquals(
+            new int[]{31, 8, 1, 0, 7},
+            Json.decode(int[].class, "[\"0x1F\",\"010\",true,false,\"7\"]")
+        );
+        assertArrayEquals(
+            new long[]{255, 1, 9876543210L},
+            Json.decode(long[].class, "[\"0xFF\",true,\"9876543210\"]")
+        );
+        assertArrayEquals(
+            new boolean[]{true, false, true, false},
+            Json.decode(boolean[].class, "[1,0,\"TRUE\",\"false\"]")
+        );
+        assertArrayEquals(
+            new double[]{1000, 6.02E23},
+            Kat.decode(double[].class, "[1e3,6.02e23]")
+        );
+    }
+
+    @Test
+    public void test_primitive_spare() throws IOException {
+        Supplier.Vendor vendor = new Supplier.Vendor();
+        IntSpare spare = new IntSpare() {
+            @Override
+            public Integer read(
+                Flag flag,
+                Value value
+            ) {
+                return value.toInt() + 1;
+            }
+
+            @Override
+            public void write(
+                Flux flux,
+                Object value
+            ) throws IOException {
+                flux.emit(
+                    (Integer) value * 10
+                );
+            }
+        };
+
+        vendor.active(int.class, spare);
+        vendor.active(Integer.class, spare);
+
+        assertArrayEquals(
+            new int[]{2, 3},
+            vendor.read(int[].class, Flow.of("[1,2]"))
+        );
+        try (Json json = new Json(vendor)) {
+            json.set(null, new int[]{1, 2});
+            assertEquals("[10,20]", json.toString());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class EnumSpareTest {
+
+    enum Code {
+        AA, AB, AC, BA, BB, BC, CA, CB, CC,
+        USD, EUR, CNY, JPY, GBP, HKD, CHF,
+        PENDING, RUNNING, DONE, FAILED,
+        陆之岇, $dollar, under_score
+    }
+
+    @Test
+    public void test_read() throws IOException {
+        Spare<Code> spare =
+            Spare.of(Code.class);
+
+        for (Code code : Code.values()) {
+            assertSame(
+                code, spare.read(
+                    Flow.of("\"" + code.name() + "\"")
+                )
+            );
+        }
+
+        assertNull(spare.read(Flow.of("\"A\"")));
+        assertNull(spare.read(Flow.of("\"USDT\"")));
+        assertNull(spare.read(Flow.of("\"usd\"")));
+    }
+
+    @Test
+    public void test_index() throws IOException {
+        Spare<Code> spare =
+            Spare.of(Code.class);
+
+        assertSame(
+            Code.USD, spare.read(
+                Flow.of("9").and(Flag.INDEX_AS_ENUM)
+            )
+        );
+        assertNull(
+            spare.read(
+                Flow.of("99").and(Flag.INDEX_AS_ENUM)
+            )
+        );
+    }
+
+    @Test
+    public void test_write() throws IOException {
+        Spare<Code> spare =
+            Spare.of(Code.class);
+
+        for (Code code : Code.values()) {
+            try (Chan chan = spare.telex(Algo.JSON, code)) {
+                assertEquals(
+                    "\"" + code.name() + "\"", chan.toString()
+                );
+            }
+            try (Chan chan = spare.telex(Algo.JSON, code, Flag.ENUM_AS_INDEX)) {
+                assertEquals(
+                    Integer.toString(code.ordinal()), chan.toString()
+                );
+            }
+        }
+    }
+}
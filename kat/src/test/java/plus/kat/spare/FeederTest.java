@@ -0,0 +1,154 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.bean.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author kraity
+ */
+public class FeederTest {
+
+    @Test
+    public void test_json() throws IOException {
+        byte[] data = (
+            "{\"id\":1,\"name\":\"k{r}a\\\"ity\"}\n" +
+                " {\"id\":2,\"name\":\"[kat]\"}"
+        ).getBytes(UTF_8);
+
+        try (Feeder<User> feeder = new Feeder<>(
+            Algo.JSON, Spare.of(User.class))) {
+            List<User> list = new ArrayList<>();
+            for (byte b : data) {
+                if (feeder.feed(new byte[]{b}) == Feeder.READY) {
+                    list.add(feeder.poll());
+                } else {
+                    assertNull(feeder.poll());
+                }
+            }
+
+            assertEquals(Feeder.NEED_MORE_INPUT, feeder.finish());
+            assertTrue(feeder.isDone());
+            assertEquals(2, list.size());
+            assertEquals(1, list.get(0).id);
+            assertEquals("k{r}a\"ity", list.get(0).name);
+            assertEquals(2, list.get(1).id);
+            assertEquals("[kat]", list.get(1).name);
+        }
+    }
+
+    @Test
+    public void test_kat() throws IOException {
+        String text = "# {note}\n" +
+            "User{id=1,name='k}at'}" +
+            "User{id=2,name=\"k]at\"}";
+
+        try (Feeder<User> feeder = new Feeder<>(
+            Algo.KAT, Spare.of(User.class))) {
+            assertEquals(
+                Feeder.READY, feeder.feed(
+                    ByteBuffer.wrap(text.getBytes(UTF_8))
+                )
+            );
+
+            User u1 = feeder.poll();
+            User u2 = feeder.poll();
+            assertNull(feeder.poll());
+
+            assertEquals(1, u1.id);
+            assertEquals("k}at", u1.name);
+            assertEquals(2, u2.id);
+            assertEquals("k]at", u2.name);
+        }
+    }
+
+    @Test
+    public void test_doc() throws IOException {
+        String text = "<!-- User -->\n" +
+            "<User><id>1</id><extra id=\"/>\" /><name><![CDATA[<kat>]]></name></User>";
+
+        byte[] data = text.getBytes(UTF_8);
+        try (Feeder<User> feeder = new Feeder<>(
+            Algo.DOC, Spare.of(User.class))) {
+            for (int i = 0; i < data.length - 1; i++) {
+                assertEquals(
+                    Feeder.NEED_MORE_INPUT,
+                    feeder.feed(data, i, 1)
+                );
+            }
+            assertEquals(
+                Feeder.READY,
+                feeder.feed(data, data.length - 1, 1)
+            );
+
+            User user = feeder.poll();
+            assertNotNull(user);
+            assertEquals(1, user.id);
+            assertEquals("<kat>", user.name);
+        }
+    }
+
+    @Test
+    public void test_segments() throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 20000; i++) {
+            if (i != 0) sb.append(',');
+            sb.append(i);
+        }
+
+        byte[] data = sb.append(']')
+            .toString().getBytes(UTF_8);
+        Random random = new Random(7);
+
+        try (Feeder<int[]> feeder = new Feeder<>(
+            Algo.JSON, Spare.of(int[].class))) {
+            for (int round = 0; round < 3; round++) {
+                int i = 0;
+                while (i < data.length) {
+                    int n = Math.min(
+                        data.length - i, random.nextInt(5000) + 1
+                    );
+                    feeder.feed(data, i, n);
+                    i += n;
+                }
+
+                int[] array = feeder.poll();
+                assertNotNull(array);
+                assertEquals(20000, array.length);
+                assertEquals(19999, array[19999]);
+            }
+        }
+    }
+
+    @Test
+    public void test_finish() throws IOException {
+        try (Feeder<Integer> feeder = new Feeder<>(
+            Algo.JSON, Spare.of(Integer.class))) {
+            assertEquals(
+                Feeder.NEED_MORE_INPUT,
+                feeder.feed("12".getBytes(UTF_8))
+            );
+            assertEquals(
+                Feeder.NEED_MORE_INPUT,
+                feeder.feed("34 ".getBytes(UTF_8))
+            );
+            assertEquals(
+                Feeder.READY, feeder.finish()
+            );
+            assertEquals(1234, feeder.poll());
+            assertTrue(feeder.isDone());
+            assertThrows(
+                IllegalStateException.class,
+                () -> feeder.feed(new byte[1])
+            );
+        }
+    }
+}
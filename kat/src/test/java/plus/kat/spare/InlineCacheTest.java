@@ -0,0 +1,114 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import static plus.kat.spare.Supplier.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class InlineCacheTest {
+
+    static class Tag implements CharSequence {
+        final String name;
+
+        Tag(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int length() {
+            return name.length();
+        }
+
+        @Override
+        public char charAt(int i) {
+            return name.charAt(i);
+        }
+
+        @Override
+        public CharSequence subSequence(int s, int e) {
+            return name.subSequence(s, e);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Test
+    public void test_assign() {
+        Vendor vendor = new Vendor();
+        InlineCache cache = new InlineCache(vendor);
+
+        Spare<?> spare = cache.assign(ArrayList.class);
+        assertNotNull(spare);
+        assertSame(spare, cache.assign(ArrayList.class));
+        assertSame(spare, vendor.assign(ArrayList.class));
+
+        assertNull(
+            cache.assign(Entity.class)
+        );
+        assertSame(
+            ListSpare.INSTANCE, InlineCache.search(vendor, Iterator.class)
+        );
+
+        for (Class<?> c : new Class[]{
+            String.class, Integer.class, Long.class,
+            Double.class, HashMap.class, LinkedList.class
+        }) {
+            assertSame(
+                cache.assign(c), cache.assign(c)
+            );
+        }
+    }
+
+    @Test
+    public void test_invalidate() {
+        Vendor vendor = new Vendor();
+        InlineCache cache = new InlineCache(vendor);
+
+        Spare<?> spare = cache.assign(Tag.class);
+        assertNotSame(StringifySpare.INSTANCE, spare);
+
+        int stamp = vendor.stamp();
+        vendor.active(Tag.class, StringifySpare.INSTANCE);
+        assertNotEquals(stamp, vendor.stamp());
+        assertSame(
+            StringifySpare.INSTANCE, cache.assign(Tag.class)
+        );
+
+        vendor.revoke(Tag.class, StringifySpare.INSTANCE);
+        assertNotSame(
+            StringifySpare.INSTANCE, cache.assign(Tag.class)
+        );
+
+        stamp = vendor.stamp();
+        assertNull(vendor.revoke(Tag.class, StringifySpare.INSTANCE));
+        assertEquals(stamp, vendor.stamp());
+    }
+
+    @Test
+    public void test_writer() throws IOException {
+        Vendor vendor = new Vendor();
+        List<Object> list = Arrays.asList(
+            1, "plus", new Tag("kat")
+        );
+
+        try (Json json = new Json(vendor)) {
+            json.set(null, list);
+            vendor.active(Tag.class, StringifySpare.INSTANCE);
+            json.set(null, list);
+            assertEquals(
+                "[1,\"plus\",{}][1,\"plus\",\"kat\"]", json.toString()
+            );
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class NumberSpareTest {
+
+    @Test
+    public void test_BigDecimal() throws IOException {
+        String[] list = {
+            "0", "0.00", "1", "-1", "1.50", "1.05", "-0.5", "0.000001",
+            "0.0000001", "1E+3", "123456789.123456789", "-12345678901234567.8",
+            "1234567890123456789012.5", "3.141592653589793238", "0.000123",
+            "-0.0000012345", "100"
+        };
+        for (String text : list) {
+            BigDecimal num = new BigDecimal(text);
+            try (Json chan = new Json()) {
+                NumberSpare.emit(chan, num);
+                assertEquals(num.toString(), chan.toString());
+            }
+            try (Json chan = new Json()) {
+                NumberSpare.INSTANCE.write((Flux) chan, num);
+                assertEquals(num.toString(), chan.toString());
+            }
+        }
+    }
+
+    @Test
+    public void test_BigInteger() throws IOException {
+        String[] list = {
+            "0", "-1", "9223372036854775807", "-9223372036854775808",
+            "9223372036854775808", "-123456789012345678901234567890"
+        };
+        for (String text : list) {
+            BigInteger num = new BigInteger(text);
+            try (Json chan = new Json()) {
+                BigIntegerSpare.INSTANCE.write((Flux) chan, num);
+                assertEquals(text, chan.toString());
+            }
+        }
+    }
+
+    @Test
+    public void test_number() throws IOException {
+        Number[] list = {
+            0, -1, Integer.MIN_VALUE, Long.MAX_VALUE, 0.1F, 1e-5F, 0.1D,
+            1e21D, -2.5E-300D, Double.MIN_VALUE, (short) 12, (byte) -3
+        };
+        for (Number num : list) {
+            try (Json chan = new Json()) {
+                NumberSpare.INSTANCE.write((Flux) chan, num);
+                assertEquals(num.toString(), chan.toString());
+            }
+        }
+    }
+}
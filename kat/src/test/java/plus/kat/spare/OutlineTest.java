@@ -0,0 +1,182 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.chain.*;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author kraity
+ */
+public class OutlineTest {
+
+    @Test
+    public void test_json() throws IOException {
+        String text = "{\"user\":{\"id\":123456789012,\"name\":\"k\\\"陆之岇\"}," +
+            "\"items\":[{\"sku\":\"k1\",\"qty\":2},{\"sku\":\"k2\",\"qty\":1.5}]," +
+            "\"ok\":true,\"none\":null,\"empty\":{}}";
+
+        Outline root = Outline.of(
+            Algo.JSON, Flow.of(text)
+        );
+
+        assertNotNull(root);
+        assertTrue(root.isObject());
+        assertEquals(5, root.size());
+
+        Outline user = root.get("user");
+        assertNotNull(user);
+        assertEquals("user", user.getKey());
+        assertEquals(123456789012L, user.get("id").toLong());
+        assertEquals("k\"陆之岇", user.get("name").toString());
+
+        Outline items = root.get("items");
+        assertTrue(items.isArray());
+        assertEquals(2, items.size());
+        assertNull(items.get(0).getKey());
+        assertEquals("k2", items.get(1).get("sku").toString());
+        assertEquals(1.5D, items.get(1).get("qty").toDouble());
+        assertNull(items.get(2));
+        assertNull(items.get(-1));
+
+        assertTrue(root.get("ok").toBoolean());
+        assertTrue(root.get("none").isNull());
+        assertEquals(0, root.get("empty").size());
+        assertNull(root.get("missing"));
+        assertNull(root.get("ok").get("x"));
+
+        assertEquals(
+            "{\"user\":{\"id\":123456789012,\"name\":\"k\\\"陆之岇\"}," +
+                "\"items\":[{\"sku\":\"k1\",\"qty\":2},{\"sku\":\"k2\",\"qty\":1.5}]," +
+                "\"ok\":true,\"none\":null,\"empty\":{}}", root.toString()
+        );
+    }
+
+    @Test
+    public void test_kat() throws IOException {
+        Outline root = Outline.of(
+            Algo.KAT, Flow.of("User{id=1,name=\"kraity\",tags=[\"a\",\"b\"]}")
+        );
+
+        assertNotNull(root);
+        assertEquals(1, root.get("id").toInt());
+        assertEquals("kraity", root.get("name").toString());
+        assertEquals("b", root.get("tags").get(1).toString());
+    }
+
+    @Test
+    public void test_doc() throws IOException {
+        Outline root = Outline.of(
+            Algo.DOC, Flow.of("<User><id>1</id><meta><name>kraity</name></meta></User>")
+        );
+
+        assertNotNull(root);
+        assertEquals(1, root.get("id").toInt());
+        assertEquals("kraity", root.get("meta").get("name").toString());
+    }
+
+    @Test
+    public void test_scalar() throws IOException {
+        Outline root = Outline.of(
+            Algo.JSON, Flow.of("\"kat\"")
+        );
+        assertNotNull(root);
+        assertEquals("kat", root.toString());
+        assertEquals(0, root.size());
+        assertNull(Outline.of(Algo.JSON, Flow.of("")));
+    }
+
+    @Test
+    public void test_in_place() throws Exception {
+        String[] texts = {
+            "0", "-0", "+7", "123456789", "1234567890", "-2147483648",
+            "9223372036854775807", "0x1F", "017", "true", "false", "null",
+            "1.25", "-0.5", "0.1", ".5", "1.", "123456789012345.6", "1e2",
+            "3.14159265358979", "00.5", "-", "1-2", "x"
+        };
+
+        StringBuilder sb = new StringBuilder("[");
+        for (String text : texts) {
+            if (sb.length() != 1) sb.append(',');
+            sb.append('"').append(text).append('"');
+        }
+        Outline root = Outline.of(
+            Algo.JSON, Flow.of(sb.append(']').toString())
+        );
+
+        assertNotNull(root);
+        for (int i = 0; i < texts.length; i++) {
+            Outline o = root.get(i);
+            Value v = new Value(
+                texts[i].getBytes(UTF_8)
+            );
+            check(() -> v.toInt(0), o::toInt);
+            check(() -> v.toLong(0L), o::toLong);
+            check(() -> v.toDouble(0D), o::toDouble);
+            check(() -> v.toBoolean(false), o::toBoolean);
+        }
+    }
+
+    static void check(
+        Callable<Object> expected,
+        Callable<Object> actual
+    ) throws Exception {
+        Object value;
+        try {
+            value = expected.call();
+        } catch (IllegalArgumentException e) {
+            assertThrows(
+                IllegalArgumentException.class, actual::call
+            );
+            return;
+        }
+        assertEquals(value, actual.call());
+    }
+
+    @Test
+    public void test_exponent() throws IOException {
+        Outline root = Outline.of(
+            Algo.JSON, Flow.of("{\"a\":[1.5e3,-2e-2,7]}")
+        );
+
+        assertNotNull(root);
+        assertEquals(1500D, root.get("a").get(0).toDouble());
+        assertEquals(-0.02D, root.get("a").get(1).toDouble());
+        assertEquals(
+            "{\"a\":[1500.0,-0.02,7]}", root.toString()
+        );
+    }
+
+    @Test
+    public void test_kat_toString() throws IOException {
+        Outline root = Outline.of(
+            Algo.KAT, Flow.of("{id=1,rate=1.5e3,ok=true,none=null,tags=[a,b]}")
+        );
+
+        assertNotNull(root);
+        assertEquals(1500D, root.get("rate").toDouble());
+        assertEquals("a", root.get("tags").get(0).toString());
+        assertEquals(
+            "{\"id\":1,\"rate\":1500.0,\"ok\":true,\"none\":null,\"tags\":[\"a\",\"b\"]}", root.toString()
+        );
+    }
+
+    @Test
+    public void test_doc_toString() throws IOException {
+        Outline root = Outline.of(
+            Algo.DOC, Flow.of("<user><name>kat</name><rate>2.5E2</rate><id>1</id></user>")
+        );
+
+        assertNotNull(root);
+        assertEquals(250D, root.get("rate").toDouble());
+        assertEquals(
+            "{\"name\":\"kat\",\"rate\":250.0,\"id\":1}", root.toString()
+        );
+    }
+}
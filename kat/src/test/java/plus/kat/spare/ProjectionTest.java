@@ -0,0 +1,108 @@
+package plus.kat.spare;
+
+import org.junit.jupiter.api.Test;
+
+import plus.kat.*;
+import plus.kat.bean.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author kraity
+ */
+public class ProjectionTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_map() throws IOException {
+        String text = "{\"user\":{\"id\":1,\"name\":\"kraity\",\"meta\":{\"a\":[1,2]}}," +
+            "\"items\":[{\"sku\":\"k1\",\"qty\":2},{\"sku\":\"k2\",\"tags\":[\"x\"]}]," +
+            "\"blob\":{\"data\":[[1,2],[3,{\"sku\":4}]]},\"note\":\"skip\"}";
+
+        Map<String, Object> map = Spare.of(Map.class).parse(
+            Flow.of(text), Projection.of("user.id", "items[*].sku")
+        );
+
+        assertNotNull(map);
+        assertEquals(2, map.size());
+
+        Map<String, Object> user = (Map<String, Object>) map.get("user");
+        assertEquals(1, user.size());
+        assertEquals(1, user.get("id"));
+
+        List<Object> items = (List<Object>) map.get("items");
+        assertEquals(2, items.size());
+        assertEquals(
+            Collections.singletonMap("sku", "k1"), items.get(0)
+        );
+        assertEquals(
+            Collections.singletonMap("sku", "k2"), items.get(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_subtree() throws IOException {
+        String text = "{\"user\":{\"id\":1,\"meta\":{\"a\":[1,2]}},\"tags\":[\"a\",\"b\"],\"id\":9}";
+
+        Map<String, Object> map = Spare.of(Map.class).parse(
+            Flow.of(text), Projection.of("user.meta", "user", "tags[*]")
+        );
+
+        assertNotNull(map);
+        assertEquals(2, map.size());
+        assertEquals(2, ((Map<String, Object>) map.get("user")).size());
+        assertEquals(Arrays.asList("a", "b"), map.get("tags"));
+
+        List<Object> list = Spare.of(List.class).parse(
+            Flow.of("[{\"id\":1,\"x\":2},{\"id\":3}]"), Projection.of("*.id")
+        );
+        assertNotNull(list);
+        assertEquals(
+            Arrays.asList(
+                Collections.singletonMap("id", 1),
+                Collections.singletonMap("id", 3)
+            ), list
+        );
+    }
+
+    @Test
+    public void test_bean() throws IOException {
+        Spare<User> spare =
+            Spare.of(User.class);
+
+        User user = spare.parse(
+            Flow.of("{\"id\":1,\"name\":\"kraity\",\"blocked\":true}"),
+            Projection.of("name")
+        );
+        assertNotNull(user);
+        assertEquals(0, user.id);
+        assertEquals("kraity", user.name);
+
+        User user1 = spare.solve(
+            Algo.KAT, Flow.of("User{id=1,name=\"kraity\"}"), Projection.of("id")
+        );
+        assertNotNull(user1);
+        assertEquals(1, user1.id);
+        assertNull(user1.name);
+    }
+
+    @Test
+    public void test_illegal() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> Projection.of()
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> Projection.of("items[0].sku")
+        );
+        assertEquals(
+            "user.id, items[*].sku",
+            Projection.of("user.id", "items[*].sku").toString()
+        );
+    }
+}
@@ -588,4 +588,55 @@ public class ReflexSpareTest {
             )
         );
     }
+
+    static class Meter {
+        @Magic("total")
+        private long total;
+        private String unit;
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public Meter setUnit(
+            String unit
+        ) {
+            this.unit = unit;
+            return this;
+        }
+    }
+
+    @Test
+    public void test_handle() throws IOException {
+        Spare<Meter> spare =
+            spare(Meter.class);
+
+        Meter meter = spare.read(
+            Flow.of(
+                "{total=12,unit=ms}"
+            )
+        );
+
+        assertNotNull(meter);
+        assertEquals(12L, meter.total);
+        assertEquals("ms", meter.unit);
+
+        Subject<Meter> subject =
+            (Subject<Meter>) spare;
+
+        assertTrue(
+            subject.set("total").accept(meter, 7)
+        );
+        assertFalse(
+            subject.set("unit").accept(meter, null)
+        );
+        assertEquals(7L, subject.get("total").apply(meter));
+        assertEquals("ms", subject.get("unit").apply(meter));
+
+        try (Chan chan = spare.write(meter)) {
+            assertEquals(
+                "{total=7,unit=\"ms\"}", chan.toString()
+            );
+        }
+    }
 }
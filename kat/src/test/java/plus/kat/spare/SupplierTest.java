@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import static plus.kat.Algo.*;
 import static plus.kat.spare.Supplier.*;
@@ -573,4 +574,81 @@ public class SupplierTest {
         assertSame(objectSpare, context.assign(Object.class, space("plus.kat.SpareTest")));
         assertSame(objectSpare, context.assign(Object.class, space("plus.kat.spare.SupplierTest")));
     }
+
+    @Test
+    public void test_absent() {
+        Vendor vendor = new Vendor();
+        assertNull(vendor.assign(Runnable.class));
+        assertTrue(vendor.absent.contains(Runnable.class));
+        assertNull(vendor.assign(Runnable.class));
+
+        Spare<?> spare = vendor.assign(User.class);
+        vendor.active(Runnable.class, spare);
+        assertTrue(vendor.absent.isEmpty());
+        assertSame(spare, vendor.assign(Runnable.class));
+
+        vendor.revoke(Runnable.class, spare);
+        assertNull(vendor.assign(Runnable.class));
+        vendor.onDestroy();
+        assertTrue(vendor.absent.isEmpty());
+    }
+
+    @Magus(agent = MetaSpare.class)
+    public static class Meta {
+        public int id;
+        public String tag;
+    }
+
+    public static class MetaSpare extends ReflectSpare<Meta> {
+
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        public MetaSpare(
+            String space,
+            Class<Meta> clazz,
+            Context context
+        ) throws InterruptedException {
+            super(space, clazz, context);
+            COUNT.incrementAndGet();
+            // widen the window of construction
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void test_flight() throws Exception {
+        int n = 64;
+        Vendor vendor = Vendor.INS;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService service = Executors.newFixedThreadPool(n);
+
+        try {
+            List<Future<Spare<?>>> list = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                list.add(
+                    service.submit(() -> {
+                        latch.await();
+                        return vendor.assign(Meta.class);
+                    })
+                );
+            }
+            latch.countDown();
+
+            Spare<?> spare = vendor.major.get(Meta.class);
+            for (Future<Spare<?>> future : list) {
+                Spare<?> it = future.get();
+                if (spare == null) {
+                    spare = it;
+                }
+                assertSame(spare, it);
+            }
+            assertSame(spare, vendor.major.get(Meta.class));
+            assertTrue(spare instanceof MetaSpare);
+            assertEquals(1, MetaSpare.COUNT.get());
+            assertTrue(vendor.flight.isEmpty());
+            assertEquals(0, vendor.building.get()[0]);
+        } finally {
+            service.shutdown();
+        }
+    }
 }